@@ -0,0 +1,156 @@
+package duke;
+
+import duke.data.task.Deadline;
+import duke.data.task.Event;
+import duke.data.task.Task;
+import duke.data.task.Todo;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the benchmarks in src/bench/java, which are plain programs with a main method, so that they can
+ * be built and run with the JDK alone:
+ *
+ *     javac -d bench-bin $(find src/main/java src/bench/java -name '*.java')
+ *     java -cp bench-bin duke.storage.SnapshotWriteBenchmark
+ *
+ * Each measurement is run a few times first so that the code being measured is compiled, and the fastest of the
+ * measured runs is reported, along with the bytes it allocated.
+ */
+public class Benchmark {
+    private static final int NUM_WARM_UP_RUNS = 3;
+    private static final int NUM_MEASURED_RUNS = 5;
+    private static final String[] VERBS = {"read", "buy", "call", "write", "fix", "clean", "plan", "review"};
+    private static final String[] NOUNS = {"book", "milk", "mum", "report", "bike", "room", "trip", "code"};
+    private static final LocalDateTime FIRST_DATE_AND_TIME = LocalDateTime.of(2021, 9, 1, 0, 0);
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Code to be measured
+     */
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Code to be measured on an input made before each run, e.g. a list that the code deletes from
+     */
+    public interface ActionOnInput<T> {
+        void run(T input) throws Exception;
+    }
+
+    /**
+     * Code making the input of a run, which is not measured
+     */
+    public interface Setup<T> {
+        T create() throws Exception;
+    }
+
+    /**
+     * Returns the given number of tasks, a third each of Todos, Deadlines and Events, with every fourth task done.
+     * Descriptions are short and repeat their first two words, like those of real task lists.
+     */
+    public static List<Task> createTasks(int numTasks) {
+        final List<Task> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            final String description = VERBS[i % VERBS.length] + " " + NOUNS[(i / VERBS.length) % NOUNS.length]
+                    + " " + i;
+            final boolean isDone = i % 4 == 0;
+            final LocalDateTime dateAndTime = FIRST_DATE_AND_TIME.plusMinutes(i * 15L);
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(description, isDone));
+                break;
+            case 1:
+                tasks.add(new Deadline(description, dateAndTime, isDone));
+                break;
+            default:
+                tasks.add(new Event(description, dateAndTime, isDone));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs the action a few times, then prints the time of its fastest run and the bytes allocated by that run.
+     * Bytes are counted on all threads alive after the run, e.g. those of a fork-join pool, but not on threads that
+     * ended during the run.
+     *
+     * @param label Name of the measurement
+     * @param numItems Number of tasks or lines handled by each run, to print the time and bytes per item
+     * @param action Code to measure
+     */
+    public static void measure(String label, int numItems, Action action) throws Exception {
+        measure(label, numItems, () -> null, input -> action.run());
+    }
+
+    /**
+     * Like {@link #measure(String, int, Action)}, but first makes a new input for each run, outside of the time and
+     * bytes measured.
+     *
+     * @param setup Code making the input of a run
+     * @param action Code to measure
+     */
+    public static <T> void measure(String label, int numItems, Setup<T> setup, ActionOnInput<T> action)
+            throws Exception {
+        for (int i = 0; i < NUM_WARM_UP_RUNS; i++) {
+            action.run(setup.create());
+        }
+
+        long bestTime = Long.MAX_VALUE;
+        long bytesAllocatedInBestRun = 0;
+        for (int i = 0; i < NUM_MEASURED_RUNS; i++) {
+            final T input = setup.create();
+            final long bytesAllocatedBefore = getBytesAllocated();
+            final long start = System.nanoTime();
+            action.run(input);
+            final long time = System.nanoTime() - start;
+            final long bytesAllocated = getBytesAllocated() - bytesAllocatedBefore;
+            if (time < bestTime) {
+                bestTime = time;
+                bytesAllocatedInBestRun = bytesAllocated;
+            }
+        }
+        System.out.printf("%-44s %10.1f ms %8.0f ns/item %10.1f MB %6.0f B/item%n", label, bestTime / 1e6,
+                (double) bestTime / numItems, bytesAllocatedInBestRun / 1e6,
+                (double) bytesAllocatedInBestRun / numItems);
+    }
+
+    /**
+     * Returns the bytes of heap in use after a full GC, i.e. those of live objects. The GC is forced with
+     * System.gc(), so this must not be run with -XX:+DisableExplicitGC.
+     */
+    public static long getHeapUsedAfterFullGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long getBytesAllocated() {
+        long bytesAllocated = 0;
+        for (long bytesAllocatedByThread : THREAD_MX_BEAN.getThreadAllocatedBytes(THREAD_MX_BEAN.getAllThreadIds())) {
+            //-1 for threads that ended since their ids were taken
+            bytesAllocated += Math.max(bytesAllocatedByThread, 0);
+        }
+        return bytesAllocated;
+    }
+
+    /**
+     * Returns the sizes given as arguments, e.g. "1000000", or the default sizes if there are none
+     */
+    public static int[] getSizes(String[] args, int... defaultSizes) {
+        if (args.length == 0) {
+            return defaultSizes;
+        }
+        final int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,46 @@
+package duke.data.task;
+
+import duke.Benchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares searches that check every task done on one thread, against the same searches split between the threads
+ * of the common fork-join pool, at list sizes around {@link TaskList#DEFAULT_MIN_TASKS_TO_SCAN_IN_PARALLEL}.
+ * The size from which the split search is faster is the value to give "--parallel-scan-threshold" on the machine
+ * that this is run on.
+ * Searches are only split if the pool has more than one thread, which can be forced with
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N, e.g. to measure the cost of splitting on a single core.
+ *
+ * Arguments: numbers of tasks in the list, from 1000 to 1000000 if none are given
+ */
+public class ParallelScanBenchmark {
+    /** Shorter than a trigram, so that the search checks every task rather than using the trigram index */
+    private static final String SEARCH_TERM = "ea";
+
+    private static long numTasksFound;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("threads in common pool: " + ForkJoinPool.getCommonPoolParallelism());
+        for (int numTasks : Benchmark.getSizes(args, 1_000, 5_000, 20_000, 50_000, 200_000, 1_000_000)) {
+            final List<Task> tasks = Benchmark.createTasks(numTasks);
+            //A new list for each run, as the result of the search would otherwise be cached
+            Benchmark.measure("one thread (" + numTasks + ")", numTasks,
+                    () -> createTaskList(tasks, Long.MAX_VALUE), ParallelScanBenchmark::search);
+            Benchmark.measure("split between threads (" + numTasks + ")", numTasks,
+                    () -> createTaskList(tasks, 0), ParallelScanBenchmark::search);
+        }
+        System.out.println("tasks found: " + numTasksFound);
+    }
+
+    private static TaskList createTaskList(List<Task> tasks, long minTasksToScanInParallel) {
+        final TaskList taskList = new TaskList(tasks);
+        taskList.setMinTasksToScanInParallel(minTasksToScanInParallel);
+        return taskList;
+    }
+
+    private static void search(TaskList taskList) {
+        numTasksFound += taskList.getListOfTasksWithMatchingTerm(SEARCH_TERM).size();
+    }
+}
@@ -0,0 +1,59 @@
+package duke.data.task;
+
+import duke.Benchmark;
+import duke.storage.TaskListEncoder;
+
+import java.io.Writer;
+import java.lang.ref.Reference;
+
+/**
+ * Measures the time and allocation of rendering every task, as the "list" command does for the screen and as every
+ * save does for the storage file, and the heap that rendering leaves in use.
+ * Rendering is measured both on a new list, which is what the first list or save after loading does, and again on
+ * the same list. The output is thrown away, so that only the rendering is measured.
+ *
+ * This was used to decide against keeping the rendered strings of each task, by running it against the tree from
+ * before they were dropped as well.
+ *
+ * Arguments: numbers of tasks in the list, 1000000 if none are given
+ */
+public class RenderBenchmark {
+    public static void main(String[] args) throws Exception {
+        final TaskListEncoder encoder = new TaskListEncoder();
+        for (int numTasks : Benchmark.getSizes(args, 1_000_000)) {
+            final Benchmark.Setup<TaskList> setup = () -> new TaskList(Benchmark.createTasks(numTasks));
+            final String size = " (" + numTasks + ")";
+            Benchmark.measure("first list" + size, numTasks, setup, RenderBenchmark::list);
+            Benchmark.measure("first encode" + size, numTasks, setup,
+                    taskList -> encoder.encodeTaskListTo(taskList, Writer.nullWriter()));
+
+            final TaskList taskList = setup.create();
+            Benchmark.measure("repeated list" + size, numTasks, () -> list(taskList));
+            Benchmark.measure("repeated encode" + size, numTasks,
+                    () -> encoder.encodeTaskListTo(taskList, Writer.nullWriter()));
+
+            measureHeapLeftInUse(numTasks, encoder);
+        }
+    }
+
+    private static void list(TaskList taskList) throws Exception {
+        taskList.writeTasks(Writer.nullWriter(), 1, taskList.getNumTasks());
+    }
+
+    /**
+     * Prints the heap in use after a full GC with a list of new tasks live, then after listing it once, then after
+     * also encoding it once
+     */
+    private static void measureHeapLeftInUse(int numTasks, TaskListEncoder encoder) throws Exception {
+        final long heapUsedBefore = Benchmark.getHeapUsedAfterFullGc();
+        final TaskList taskList = new TaskList(Benchmark.createTasks(numTasks));
+        final long heapUsedAfterLoad = Benchmark.getHeapUsedAfterFullGc() - heapUsedBefore;
+        list(taskList);
+        final long heapUsedAfterList = Benchmark.getHeapUsedAfterFullGc() - heapUsedBefore;
+        encoder.encodeTaskListTo(taskList, Writer.nullWriter());
+        final long heapUsedAfterEncode = Benchmark.getHeapUsedAfterFullGc() - heapUsedBefore;
+        Reference.reachabilityFence(taskList);
+        System.out.printf("heap in use (%d): %.1f MB after load, %.1f MB after list, %.1f MB after list and encode%n",
+                numTasks, heapUsedAfterLoad / 1e6, heapUsedAfterList / 1e6, heapUsedAfterEncode / 1e6);
+    }
+}
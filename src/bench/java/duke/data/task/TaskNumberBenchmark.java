@@ -0,0 +1,71 @@
+package duke.data.task;
+
+import duke.Benchmark;
+import duke.storage.LazyTaskStore;
+import duke.storage.TaskListEncoder;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the time to number the results of a search, i.e. to find the position of each result in the list by its
+ * id, in each store that the tasks can be kept in. The results are every hundredth task of the list.
+ *
+ * Arguments: numbers of tasks in the list, 1000000 if none are given
+ */
+public class TaskNumberBenchmark {
+    private static final int TASKS_PER_RESULT = 100;
+
+    private static long numCharsListed;
+
+    public static void main(String[] args) throws Exception {
+        for (int numTasks : Benchmark.getSizes(args, 1_000_000)) {
+            final List<Task> tasks = Benchmark.createTasks(numTasks);
+            final Path path = Files.createTempFile("dude", ".txt");
+            try {
+                try (Writer writer = new OutputStreamWriter(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                    new TaskListEncoder().encodeTaskListTo(new TaskList(tasks), writer);
+                }
+                for (String storeName : new String[] {"ArrayList", "tree", "columnar", "offheap", "lazy"}) {
+                    final TaskList taskList = createTaskList(tasks, storeName, path);
+                    final List<Task> results = new ArrayList<>();
+                    for (int taskNum = 1; taskNum <= numTasks; taskNum += TASKS_PER_RESULT) {
+                        results.add(taskList.getTaskAtNum(taskNum));
+                    }
+                    Benchmark.measure("number results (" + numTasks + ", " + storeName + ")", results.size(),
+                            () -> numCharsListed += taskList.getStringOfTasksInList(results).length());
+                }
+            } finally {
+                Files.delete(path);
+            }
+        }
+        System.out.println("characters listed: " + numCharsListed);
+    }
+
+    private static TaskList createTaskList(List<Task> tasks, String storeName, Path path) throws Exception {
+        if (storeName.equals("lazy")) {
+            final LazyTaskStore store = LazyTaskStore.load(path);
+            return TaskList.backedBy(store, store.getFirstFreeId());
+        }
+        final TaskList taskList = new TaskList(tasks);
+        switch (storeName) {
+        case "tree":
+            taskList.moveTasksTo(new TreeTaskStore());
+            break;
+        case "columnar":
+            taskList.moveTasksTo(new ColumnarTaskStore());
+            break;
+        case "offheap":
+            taskList.moveTasksTo(ColumnarTaskStore.withOffHeapDescriptions());
+            break;
+        default:
+            break;
+        }
+        return taskList;
+    }
+}
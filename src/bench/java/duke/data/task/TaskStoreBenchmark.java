@@ -0,0 +1,181 @@
+package duke.data.task;
+
+import duke.Benchmark;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares delete-heavy workloads on a TaskList kept in its default ArrayList, against one kept in a
+ * {@link TreeTaskStore} as chosen with "--store=tree". Reading tasks by number and listing them all are measured as
+ * well, as those are what the tree makes slower.
+ *
+ * The columnar stores chosen with "--store=columnar" and "--store=offheap" are compared on bulk deletes, which may
+ * compact them, and on the memory they take: the heap left in use after a full GC, the off-heap memory of direct
+ * buffers, and the pause of a full GC while the store is live. A full GC is forced with System.gc(), so this must
+ * not be run with -XX:+DisableExplicitGC.
+ *
+ * Arguments: numbers of tasks in the list, 100000 and 1000000 if none are given
+ */
+public class TaskStoreBenchmark {
+    private static final int NUM_OPERATIONS = 10_000;
+    private static final int NUM_TASKS_IN_BULK_DELETE = 1_000;
+    private static final int NUM_FULL_GCS = 5;
+    private static final long RANDOM_SEED = 1;
+
+    private static long numTasksRead;
+
+    public static void main(String[] args) throws Exception {
+        for (int numTasks : Benchmark.getSizes(args, 100_000, 1_000_000)) {
+            final List<Task> tasks = Benchmark.createTasks(numTasks);
+            final int[] randomTaskNums = getRandomTaskNums(numTasks);
+            for (String storeName : new String[] {"ArrayList", "tree"}) {
+                final Benchmark.Setup<TaskList> setup = () -> createTaskList(tasks, storeName);
+                final String sizeAndStore = " (" + numTasks + ", " + storeName + ")";
+                Benchmark.measure("delete first task" + sizeAndStore, NUM_OPERATIONS, setup,
+                        TaskStoreBenchmark::deleteFirstTasks);
+                Benchmark.measure("delete random task" + sizeAndStore, NUM_OPERATIONS, setup,
+                        taskList -> deleteTasks(taskList, randomTaskNums));
+                Benchmark.measure("delete last task" + sizeAndStore, NUM_OPERATIONS, setup,
+                        TaskStoreBenchmark::deleteLastTasks);
+                final TaskList taskList = setup.create();
+                Benchmark.measure("get random task" + sizeAndStore, NUM_OPERATIONS,
+                        () -> getTasks(taskList, randomTaskNums));
+                Benchmark.measure("list all tasks" + sizeAndStore, numTasks,
+                        () -> listTasks(taskList));
+            }
+            for (String storeName : new String[] {"columnar", "offheap"}) {
+                final Benchmark.Setup<TaskList> setup = () -> createTaskList(tasks, storeName);
+                final String sizeAndStore = " (" + numTasks + ", " + storeName + ")";
+                Benchmark.measure("delete 1-2" + sizeAndStore, 1, setup,
+                        taskList -> taskList.deleteTasks(new int[] {1, 2}));
+                Benchmark.measure("delete " + NUM_TASKS_IN_BULK_DELETE + " at once" + sizeAndStore, 1, setup,
+                        taskList -> taskList.deleteTasks(getEvenlySpreadTaskNums(numTasks)));
+            }
+        }
+        for (int numTasks : Benchmark.getSizes(args, 100_000, 1_000_000)) {
+            for (String storeName : new String[] {"ArrayList", "tree", "columnar", "offheap"}) {
+                measureMemory(numTasks, storeName);
+            }
+        }
+        System.out.println("tasks read: " + numTasksRead);
+    }
+
+    /**
+     * Prints the memory taken by a list of new tasks in the given store, and the shortest pause of a few full GCs
+     * with the list live. The tasks are made here so that none of them is kept alive by anything but the store.
+     */
+    private static void measureMemory(int numTasks, String storeName) {
+        final long heapUsedBefore = Benchmark.getHeapUsedAfterFullGc();
+        final long directMemoryUsedBefore = getDirectMemoryUsed();
+        final TaskList taskList = createTaskList(Benchmark.createTasks(numTasks), storeName);
+        final long heapUsed = Benchmark.getHeapUsedAfterFullGc() - heapUsedBefore;
+        final long directMemoryUsed = getDirectMemoryUsed() - directMemoryUsedBefore;
+        long shortestPause = Long.MAX_VALUE;
+        for (int i = 0; i < NUM_FULL_GCS; i++) {
+            final long gcTimeBefore = getGcTime();
+            System.gc();
+            shortestPause = Math.min(shortestPause, getGcTime() - gcTimeBefore);
+        }
+        Reference.reachabilityFence(taskList);
+        System.out.printf("%-44s %8.1f MB heap %6.0f B/task %8.1f MB direct %6d ms full GC%n",
+                "memory (" + numTasks + ", " + storeName + ")", heapUsed / 1e6, (double) heapUsed / numTasks,
+                directMemoryUsed / 1e6, shortestPause);
+    }
+
+    private static long getDirectMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    /** Returns the milliseconds spent in all collections so far */
+    private static long getGcTime() {
+        long gcTime = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcTime += Math.max(collector.getCollectionTime(), 0);
+        }
+        return gcTime;
+    }
+
+    private static TaskList createTaskList(List<Task> tasks, String storeName) {
+        final TaskList taskList = new TaskList(tasks);
+        switch (storeName) {
+        case "tree":
+            taskList.moveTasksTo(new TreeTaskStore());
+            break;
+        case "columnar":
+            taskList.moveTasksTo(new ColumnarTaskStore());
+            break;
+        case "offheap":
+            taskList.moveTasksTo(ColumnarTaskStore.withOffHeapDescriptions());
+            break;
+        default:
+            break;
+        }
+        return taskList;
+    }
+
+    /** Returns task numbers to delete at once, spread evenly over the list, in increasing order */
+    private static int[] getEvenlySpreadTaskNums(int numTasks) {
+        final int[] taskNums = new int[NUM_TASKS_IN_BULK_DELETE];
+        for (int i = 0; i < NUM_TASKS_IN_BULK_DELETE; i++) {
+            taskNums[i] = 1 + (int) ((long) i * numTasks / NUM_TASKS_IN_BULK_DELETE);
+        }
+        return taskNums;
+    }
+
+    /**
+     * Returns task numbers to delete one after the other, each within the list left by the deletions before it
+     */
+    private static int[] getRandomTaskNums(int numTasks) {
+        final Random random = new Random(RANDOM_SEED);
+        final int[] taskNums = new int[NUM_OPERATIONS];
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            taskNums[i] = 1 + random.nextInt(numTasks - i);
+        }
+        return taskNums;
+    }
+
+    private static void deleteFirstTasks(TaskList taskList) throws Exception {
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            taskList.deleteTask(1);
+        }
+    }
+
+    private static void deleteTasks(TaskList taskList, int[] taskNums) throws Exception {
+        for (int taskNum : taskNums) {
+            taskList.deleteTask(taskNum);
+        }
+    }
+
+    private static void deleteLastTasks(TaskList taskList) throws Exception {
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            taskList.deleteTask(taskList.getNumTasks());
+        }
+    }
+
+    private static void getTasks(TaskList taskList, int[] taskNums) throws Exception {
+        for (int taskNum : taskNums) {
+            if (taskList.getTaskAtNum(taskNum) != null) {
+                numTasksRead++;
+            }
+        }
+    }
+
+    private static void listTasks(TaskList taskList) {
+        final List<Task> listedTasks = new ArrayList<>(taskList.getNumTasks());
+        for (Task task : taskList.getTasks()) {
+            listedTasks.add(task);
+        }
+        numTasksRead += listedTasks.size();
+    }
+}
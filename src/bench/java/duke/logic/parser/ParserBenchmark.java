@@ -0,0 +1,93 @@
+package duke.logic.parser;
+
+import duke.Benchmark;
+import duke.logic.commands.Command;
+import duke.logic.commands.IncorrectCommand;
+
+/**
+ * Measures the time and allocation of parsing a script of commands with one {@link Parser}, reused for every line as
+ * Main does. The script adds, completes and deletes tasks, and is run both with valid lines only, and with malformed
+ * lines mixed in, which are reported as an {@link IncorrectCommand}, and which a parser may only notice by catching
+ * an exception.
+ * Only the command forms that the parser has always accepted are used, so that this can also be run against the
+ * parser from before it scanned input by index, to compare the two.
+ *
+ * Arguments: numbers of lines in the script, 1000000 if none are given
+ */
+public class ParserBenchmark {
+    /** Number of valid lines before each malformed line, so that one line in four is malformed */
+    private static final int VALID_LINES_PER_MALFORMED_LINE = 3;
+    private static final String[] MALFORMED_LINES = {
+        "todo",
+        "todo    ",
+        "deadline return book /by tomorrow",
+        "deadline return book /at 12/12/2021 1800",
+        "deadline return book /by 32/01/2021 1800",
+        "event party 01/10/2021 2000",
+        "event party /at 01/10/2021 25:00",
+        "done five",
+        "done",
+        "delete 3 4",
+        "delete",
+        "dance",
+    };
+
+    private static long numIncorrectCommands;
+
+    public static void main(String[] args) throws Exception {
+        for (int numLines : Benchmark.getSizes(args, 1_000_000)) {
+            final String[] validScript = createScript(numLines, false);
+            final String[] mixedScript = createScript(numLines, true);
+            final Parser parser = new Parser();
+            Benchmark.measure("valid lines (" + numLines + ")", numLines, () -> parse(parser, validScript));
+            Benchmark.measure("1 in 4 lines malformed (" + numLines + ")", numLines, () -> parse(parser, mixedScript));
+        }
+        System.out.println("incorrect commands: " + numIncorrectCommands);
+    }
+
+    private static void parse(Parser parser, String[] script) {
+        for (String line : script) {
+            final Command command = parser.parseCommand(line);
+            if (command instanceof IncorrectCommand) {
+                numIncorrectCommands++;
+            }
+        }
+    }
+
+    /**
+     * Returns the lines of a script, made beforehand so that only the parsing is measured. Numbers and dates vary
+     * from line to line, like those typed in.
+     */
+    private static String[] createScript(int numLines, boolean hasMalformedLines) {
+        final String[] script = new String[numLines];
+        int numMalformedLines = 0;
+        for (int i = 0; i < numLines; i++) {
+            if (hasMalformedLines && i % (VALID_LINES_PER_MALFORMED_LINE + 1) == VALID_LINES_PER_MALFORMED_LINE) {
+                script[i] = MALFORMED_LINES[numMalformedLines++ % MALFORMED_LINES.length];
+                continue;
+            }
+            final int day = 1 + i % 28;
+            final int month = 1 + (i / 28) % 12;
+            final int hour = i % 24;
+            final String date = String.format("%02d/%02d/2021 %02d%02d", day, month, hour, (i * 15) % 60);
+            switch (i % 5) {
+            case 0:
+                script[i] = "todo read book " + i;
+                break;
+            case 1:
+                script[i] = "deadline return book " + i + " /by " + date;
+                break;
+            case 2:
+                script[i] = "event party " + i + " /at " + date;
+                break;
+            case 3:
+                script[i] = "done " + (1 + i % 1000);
+                break;
+            default:
+                script[i] = "delete " + (1 + i % 1000);
+                break;
+            }
+        }
+        return script;
+    }
+}
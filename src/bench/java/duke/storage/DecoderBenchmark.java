@@ -0,0 +1,145 @@
+package duke.storage;
+
+import duke.Benchmark;
+import duke.data.task.Deadline;
+import duke.data.task.Event;
+import duke.data.task.Task;
+import duke.data.task.TaskList;
+import duke.data.task.Todo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the time and allocation of decoding lines of the storage file with the single-pass decoder, against
+ * splitting them with a regular expression and parsing their dates with {@link LocalDateTime#parse}, as was done
+ * before. Both are run on valid lines, and on lines of which one in a hundred is malformed, since the old decoder
+ * reported those by throwing.
+ *
+ * Arguments: numbers of lines, 1000000 if none are given
+ */
+public class DecoderBenchmark {
+    private static final int LINES_PER_MALFORMED_LINE = 100;
+    private static final String[] MALFORMED_LINES = {
+        "T | 2 | done status is not 0 or 1",
+        "X | 0 | type is not T, D or E",
+        "D | 0 | date is invalid | 2021-13-45T25:61",
+    };
+
+    private static long numTasksDecoded;
+
+    public static void main(String[] args) throws Exception {
+        for (int numLines : Benchmark.getSizes(args, 1_000_000)) {
+            final List<String> lines = new TaskListEncoder().encodeTaskList(
+                    new TaskList(Benchmark.createTasks(numLines)));
+            final List<String> linesWithMalformedOnes = new ArrayList<>(lines);
+            for (int i = 0; i < numLines; i += LINES_PER_MALFORMED_LINE) {
+                final int malformedLineIndex = (i / LINES_PER_MALFORMED_LINE) % MALFORMED_LINES.length;
+                linesWithMalformedOnes.set(i, MALFORMED_LINES[malformedLineIndex]);
+            }
+            final Charset charset = Charset.defaultCharset();
+            //Direct, like the memory-mapped buffer that the lazy store decodes from
+            final byte[] encodedLines = String.join("\n", lines).getBytes(charset);
+            final ByteBuffer bytes = ByteBuffer.allocateDirect(encodedLines.length).put(encodedLines).flip();
+            final int[] lineEnds = findLineEnds(encodedLines);
+
+            Benchmark.measure("split and LocalDateTime.parse (" + numLines + ")", numLines,
+                    () -> decodeWithSplit(lines));
+            Benchmark.measure("single pass, from String (" + numLines + ")", numLines,
+                    () -> decodeInSinglePass(lines));
+            Benchmark.measure("single pass, from direct bytes (" + numLines + ")", numLines,
+                    () -> decodeInSinglePass(bytes, lineEnds, charset));
+            Benchmark.measure("split, 1% malformed (" + numLines + ")", numLines,
+                    () -> decodeWithSplit(linesWithMalformedOnes));
+            Benchmark.measure("single pass, 1% malformed (" + numLines + ")", numLines,
+                    () -> decodeInSinglePass(linesWithMalformedOnes));
+        }
+        System.out.println("tasks decoded: " + numTasksDecoded);
+    }
+
+    private static void decodeWithSplit(List<String> lines) {
+        for (String line : lines) {
+            if (decodeTaskWithSplit(line) != null) {
+                numTasksDecoded++;
+            }
+        }
+    }
+
+    private static void decodeInSinglePass(List<String> lines) {
+        for (String line : lines) {
+            if (TaskListDecoder.decodeTask(line) != null) {
+                numTasksDecoded++;
+            }
+        }
+    }
+
+    /**
+     * Decodes the lines ending at the given indices, which are found beforehand so that only the decoding is measured
+     */
+    private static void decodeInSinglePass(ByteBuffer bytes, int[] lineEnds, Charset charset) {
+        final EncodedLine line = new EncodedLine(bytes, 0, 0);
+        int lineStart = 0;
+        for (int lineEnd : lineEnds) {
+            line.moveTo(lineStart, lineEnd);
+            if (TaskListDecoder.decodeTask(line, charset) != null) {
+                numTasksDecoded++;
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static int[] findLineEnds(byte[] encodedLines) {
+        int numLines = 1;
+        for (byte b : encodedLines) {
+            if (b == '\n') {
+                numLines++;
+            }
+        }
+        final int[] lineEnds = new int[numLines];
+        int numLinesFound = 0;
+        for (int i = 0; i < encodedLines.length; i++) {
+            if (encodedLines[i] == '\n') {
+                lineEnds[numLinesFound++] = i;
+            }
+        }
+        lineEnds[numLinesFound] = encodedLines.length;
+        return lineEnds;
+    }
+
+    /**
+     * Decodes a line like TaskListDecoder used to, returning null where it reported the line as malformed
+     */
+    private static Task decodeTaskWithSplit(String encodedTask) {
+        try {
+            final boolean isDone;
+            final String[] words = encodedTask.split(" \\| ");
+            switch (words[1]) {
+            case "0":
+                isDone = false;
+                break;
+            case "1":
+                isDone = true;
+                break;
+            default:
+                return null;
+            }
+
+            switch (words[0]) {
+            case Task.TODO_ACRONYM:
+                return new Todo(words[2], isDone);
+            case Task.DEADLINE_ACRONYM:
+                return new Deadline(words[2], LocalDateTime.parse(words[3]), isDone);
+            case Task.EVENT_ACRONYM:
+                return new Event(words[2], LocalDateTime.parse(words[3]), isDone);
+            default:
+                return null;
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
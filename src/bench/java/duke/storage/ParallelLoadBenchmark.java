@@ -0,0 +1,76 @@
+package duke.storage;
+
+import duke.Benchmark;
+import duke.data.task.TaskList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compares the time to load a storage file in the text format with {@link ParallelTaskListLoader}, against reading
+ * it with a Scanner, one line at a time, as was done before, and against the sequential streaming decoder that is
+ * still used for small files.
+ * The number of threads is that of the common fork-join pool, which can be set with
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N. Loading 10^7 tasks needs a heap of about 4 GB.
+ *
+ * Arguments: numbers of lines of the storage file, 100000, 1000000 and 10000000 if none are given
+ */
+public class ParallelLoadBenchmark {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("threads in common pool: " + ForkJoinPool.getCommonPoolParallelism());
+        for (int numLines : Benchmark.getSizes(args, 100_000, 1_000_000, 10_000_000)) {
+            final Path path = Files.createTempFile("dude", ".txt");
+            try {
+                writeStorageFile(new TaskList(Benchmark.createTasks(numLines)), path);
+                System.out.printf("storage file of %d lines: %.1f MB%n", numLines, Files.size(path) / 1e6);
+                Benchmark.measure("Scanner, one line at a time (" + numLines + ")", numLines,
+                        () -> loadWithScanner(path));
+                Benchmark.measure("sequential streaming decoder (" + numLines + ")", numLines,
+                        () -> loadWithStreamingDecoder(path));
+                Benchmark.measure("parallel memory-mapped loader (" + numLines + ")", numLines,
+                        () -> ParallelTaskListLoader.loadTaskList(path));
+            } finally {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void writeStorageFile(TaskList tasks, Path path) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new BufferedOutputStream(Files.newOutputStream(path),
+                BUFFER_SIZE))) {
+            new TaskListEncoder().encodeTaskListTo(tasks, writer);
+        }
+    }
+
+    /**
+     * Loads the storage file like {@link Storage#loadTasksFromFile()} used to, apart from the decoding of each line,
+     * which is that of the current decoder
+     */
+    private static TaskList loadWithScanner(Path path) throws IOException {
+        final List<String> encodedTaskList = new ArrayList<String>();
+        try (Scanner s = new Scanner(path.toFile())) {
+            while (s.hasNext()) {
+                encodedTaskList.add(s.nextLine());
+            }
+        }
+        return TaskListDecoder.decodeTaskList(encodedTaskList);
+    }
+
+    private static TaskList loadWithStreamingDecoder(Path path) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(path.toFile()), BUFFER_SIZE)) {
+            return TaskListDecoder.decodeTaskList(in);
+        }
+    }
+}
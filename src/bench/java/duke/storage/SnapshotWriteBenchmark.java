@@ -0,0 +1,66 @@
+package duke.storage;
+
+import duke.Benchmark;
+import duke.data.task.TaskList;
+import duke.ui.Ui;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compares the time and allocation of rewriting the storage file by streaming the tasks into a temporary file that
+ * replaces it, against building the List of encoded tasks first and writing it with an unbuffered FileWriter, as
+ * was done before.
+ * Both make the same Strings for each task, so they allocate about as much, but the list of lines is held in memory
+ * all at once, which is printed as well.
+ * Writes ./data/dude.txt, so it is to be run from a scratch directory.
+ *
+ * Arguments: numbers of tasks to write, 1000000 if none are given
+ */
+public class SnapshotWriteBenchmark {
+    private static final String DATA_FILE_PATH = "./data/dude.txt";
+
+    public static void main(String[] args) throws Exception {
+        for (int numTasks : Benchmark.getSizes(args, 1_000_000)) {
+            final TaskList tasks = new TaskList(Benchmark.createTasks(numTasks));
+            final Storage storage = new Storage();
+            Benchmark.measure("list of lines, FileWriter (" + numTasks + ")", numTasks,
+                    () -> writeWithFileWriter(tasks));
+            Benchmark.measure("streamed into temp file (" + numTasks + ")", numTasks,
+                    () -> storage.rewriteTaskListToFile(tasks));
+            System.out.printf("file size: %.1f MB%n", new File(DATA_FILE_PATH).length() / 1e6);
+            printMemoryHeldByListOfLines(tasks);
+        }
+    }
+
+    /**
+     * Writes the storage file like {@link Storage#rewriteTaskListToFile(TaskList)} used to
+     */
+    private static void writeWithFileWriter(TaskList tasks) throws IOException {
+        new File(DATA_FILE_PATH).getParentFile().mkdirs();
+        final FileWriter fw = new FileWriter(DATA_FILE_PATH);
+        final List<String> encodedTaskList = new TaskListEncoder().encodeTaskList(tasks);
+        for (String encodedTask : encodedTaskList) {
+            fw.write(encodedTask + Ui.LS);
+        }
+        fw.close();
+    }
+
+    private static void printMemoryHeldByListOfLines(TaskList tasks) {
+        final long usedMemoryBefore = getUsedMemoryAfterGc();
+        final List<String> encodedTaskList = new TaskListEncoder().encodeTaskList(tasks);
+        final long usedMemoryAfter = getUsedMemoryAfterGc();
+        System.out.printf("list of %d lines holds %.1f MB%n", encodedTaskList.size(),
+                (usedMemoryAfter - usedMemoryBefore) / 1e6);
+    }
+
+    private static long getUsedMemoryAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
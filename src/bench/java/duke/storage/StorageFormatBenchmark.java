@@ -0,0 +1,66 @@
+package duke.storage;
+
+import duke.Benchmark;
+import duke.data.task.TaskList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Compares the time to save and load the task list in the text and binary storage formats, and the size of each.
+ * Saves are written to a stream that drops the bytes, and loads read a storage file kept in memory, so that only the
+ * encoding and decoding are measured, not the disk.
+ *
+ * Arguments: numbers of tasks, 1000000 if none are given
+ */
+public class StorageFormatBenchmark {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        for (int numTasks : Benchmark.getSizes(args, 1_000_000)) {
+            final TaskList tasks = new TaskList(Benchmark.createTasks(numTasks));
+            final byte[] text = encodeToText(tasks, new ByteArrayOutputStream()).toByteArray();
+            final byte[] binary = encodeToBinary(tasks, new ByteArrayOutputStream()).toByteArray();
+            System.out.printf("size of %d tasks: text %.1f MB, binary %.1f MB%n", numTasks, text.length / 1e6,
+                    binary.length / 1e6);
+
+            Benchmark.measure("save text (" + numTasks + ")", numTasks,
+                    () -> encodeToText(tasks, OutputStream.nullOutputStream()));
+            Benchmark.measure("save binary (" + numTasks + ")", numTasks,
+                    () -> encodeToBinary(tasks, OutputStream.nullOutputStream()));
+            Benchmark.measure("load text (" + numTasks + ")", numTasks, () -> decode(text));
+            Benchmark.measure("load binary (" + numTasks + ")", numTasks, () -> decode(binary));
+        }
+    }
+
+    /**
+     * Encodes the tasks in the text format into the given stream, buffered like a save to the storage file
+     */
+    private static <T extends OutputStream> T encodeToText(TaskList tasks, T out) throws IOException {
+        final Writer writer = new OutputStreamWriter(new BufferedOutputStream(out, WRITE_BUFFER_SIZE));
+        new TaskListEncoder().encodeTaskListTo(tasks, writer);
+        writer.flush();
+        return out;
+    }
+
+    /**
+     * Encodes the tasks in the binary format into the given stream, buffered like a save to the storage file
+     */
+    private static <T extends OutputStream> T encodeToBinary(TaskList tasks, T out) throws IOException {
+        final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out, WRITE_BUFFER_SIZE));
+        new TaskListEncoder().encodeTaskListToBinary(tasks, dataOut);
+        dataOut.flush();
+        return out;
+    }
+
+    private static TaskList decode(byte[] storageFile) throws IOException {
+        return TaskListDecoder.decodeTaskList(new BufferedInputStream(new ByteArrayInputStream(storageFile)));
+    }
+}
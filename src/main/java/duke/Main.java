@@ -1,79 +1,286 @@
 package duke;
 
+import duke.data.task.ColumnarTaskStore;
 import duke.data.task.TaskList;
+import duke.data.task.TreeTaskStore;
+import duke.logic.ReminderScheduler;
 import duke.logic.commands.ByeCommand;
 import duke.logic.commands.Command;
 import duke.logic.commands.CommandResult;
 import duke.logic.parser.Parser;
 import duke.storage.Storage;
+import duke.storage.StorageFormat;
+import duke.storage.WriteBehindPersister;
+import duke.storage.WriteBehindPersister.Durability;
 import duke.storage.exceptions.CannotReadFromFileException;
 import duke.storage.exceptions.UnableToWriteToFileException;
+import duke.ui.ConsoleOutputSink;
+import duke.ui.JsonOutputSink;
+import duke.ui.OutputSink;
 import duke.ui.Ui;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
 /**
  * Main class of the Dude bot.
  * Initialises the application and starts user interaction.
  */
 public class Main {
     private static Ui ui;
+    private static Parser parser;
     private static TaskList tasks;
     private static Storage storage;
+    /** Saves the changes to the task list, or null if the storage file could not be loaded */
+    private static WriteBehindPersister persister;
+    private static ReminderScheduler reminderScheduler;
+
+    private static final long DEFAULT_MAX_FLUSH_DELAY_IN_MILLIS = 1000;
+    private static final long DEFAULT_REMIND_BEFORE_IN_MINUTES = 60;
+    /** By default, changes made by a script are only saved when it ends */
+    private static final long DEFAULT_COMMANDS_PER_SAVE = 0;
 
 
     /**
-     * Initialises the application by creating the required objects (Ui, Tasks, Storage) and loading data from the
-     * storage file, then showing the welcome message.
+     * Initialises the application by creating the required objects (Ui, Parser, Tasks, Storage) and loading data from
+     * the storage file, then showing the welcome message.
+     *
+     * @param options Options given on the command line
      */
-    private void start() {
+    private void start(StartupOptions options) {
+        Ui.setOutputSink(createOutputSink(options));
         try {
-            this.ui = new Ui();
-            this.storage = new Storage();
+            this.ui = createUi(options);
+            this.parser = new Parser();
+            this.storage = new Storage(options.hasOption(StartupOptions.OPTION_JOURNAL),
+                    StorageFormat.fromName(options.getOptionValue(StartupOptions.OPTION_FORMAT, ""), null));
+            if (options.hasOption(StartupOptions.OPTION_LAZY)) {
+                storage.enableLazyLoading();
+            }
             ui.showWelcome();
             this.tasks = storage.loadTasksFromFile();
+            if (!options.hasOption(StartupOptions.OPTION_LAZY)) {
+                moveTasksToStore(options.getOptionValue(StartupOptions.OPTION_STORE, ""));
+            }
             ui.showTasksLoaded(tasks);
         } catch (CannotReadFromFileException | UnableToWriteToFileException e) {
             ui.showMessageFramedWithDivider(e.toString());
         }
+        if (tasks == null) {
+            //Saving would overwrite the data that could not be loaded, so the tasks are only kept in memory
+            this.tasks = new TaskList();
+            ui.showMessageFramedWithDivider(Ui.MESSAGE_CHANGES_NOT_SAVED);
+        } else {
+            //Saving after every command of a long script would take far longer than running it
+            final Durability defaultDurability = isRunningScript(options)
+                    ? Durability.ON_EXIT
+                    : Durability.EVERY_COMMIT;
+            this.persister = new WriteBehindPersister(storage, tasks,
+                    Durability.fromName(options.getOptionValue(StartupOptions.OPTION_DURABILITY, ""),
+                            defaultDurability),
+                    options.getOptionValueAsLong(StartupOptions.OPTION_MAX_FLUSH_DELAY,
+                            DEFAULT_MAX_FLUSH_DELAY_IN_MILLIS));
+        }
+        tasks.setMinTasksToScanInParallel(options.getOptionValueAsLong(
+                StartupOptions.OPTION_PARALLEL_SCAN_THRESHOLD, TaskList.DEFAULT_MIN_TASKS_TO_SCAN_IN_PARALLEL));
+        if (options.hasOption(StartupOptions.OPTION_REMIND)) {
+            startReminders(options.getOptionValueAsLong(StartupOptions.OPTION_REMIND,
+                    DEFAULT_REMIND_BEFORE_IN_MINUTES));
+        }
+    }
+
+    /** Returns true if the commands come from a script, given with "--script=file" or piped in with "--batch" */
+    private static boolean isRunningScript(StartupOptions options) {
+        return options.hasOption(StartupOptions.OPTION_SCRIPT) || options.hasOption(StartupOptions.OPTION_BATCH);
+    }
+
+    /**
+     * Returns the sink for all output, which writes JSON lines for other programs with "--json", or else the usual
+     * text to the console. The results of commands are left out with "--quiet".
+     */
+    private static OutputSink createOutputSink(StartupOptions options) {
+        final boolean isShowingResults = !options.hasOption(StartupOptions.OPTION_QUIET);
+        if (options.hasOption(StartupOptions.OPTION_JSON)) {
+            return new JsonOutputSink(isShowingResults);
+        }
+        return new ConsoleOutputSink(isShowingResults);
+    }
+
+    /**
+     * Returns the Ui that reads commands from the script file given with "--script=file", from standard input as a
+     * script with "--batch", or else from the user.
+     * If the script file cannot be read, the Ui reads an empty script, so Dude stops straight away.
+     */
+    private static Ui createUi(StartupOptions options) {
+        if (options.hasOption(StartupOptions.OPTION_SCRIPT)) {
+            final String scriptPath = options.getOptionValue(StartupOptions.OPTION_SCRIPT, "");
+            try {
+                return new Ui(Files.newBufferedReader(Paths.get(scriptPath)));
+            } catch (IOException | InvalidPathException e) {
+                Ui.showMessageFramedWithDivider(String.format(Ui.MESSAGE_ERROR_SCRIPT_NOT_READABLE, scriptPath));
+                return new Ui(new BufferedReader(Reader.nullReader()));
+            }
+        }
+        if (options.hasOption(StartupOptions.OPTION_BATCH)) {
+            return new Ui(new BufferedReader(new InputStreamReader(System.in)));
+        }
+        return new Ui();
+    }
+
+    /**
+     * Starts reminding the user of deadlines and events, for the run with "--remind" or "--remind=minutes".
+     *
+     * @param remindBeforeInMinutes How many minutes before a task is due to remind the user
+     */
+    private void startReminders(long remindBeforeInMinutes) {
+        this.reminderScheduler = new ReminderScheduler(tasks, Duration.ofMinutes(remindBeforeInMinutes));
+        synchronized (tasks) {
+            tasks.addListener(reminderScheduler);
+        }
+        reminderScheduler.start();
+    }
+
+    /**
+     * Moves the loaded tasks into the store chosen with "--store=tree", "--store=columnar" or "--store=offheap".
+     * Tasks stay in an ArrayList if no other store is chosen.
+     *
+     * @param storeName Name of the store to keep the tasks in
+     */
+    private void moveTasksToStore(String storeName) {
+        switch (storeName) {
+        case StartupOptions.STORE_TREE:
+            tasks.moveTasksTo(new TreeTaskStore());
+            break;
+        case StartupOptions.STORE_COLUMNAR:
+            tasks.moveTasksTo(new ColumnarTaskStore());
+            break;
+        case StartupOptions.STORE_OFF_HEAP:
+            tasks.moveTasksTo(ColumnarTaskStore.withOffHeapDescriptions());
+            break;
+        default:
+            break;
+        }
     }
 
     /** Shows the Goodbye message and exits the application.*/
     private void exit() {
+        if (reminderScheduler != null) {
+            reminderScheduler.stop();
+        }
+        try {
+            storage.close();
+        } catch (UnableToWriteToFileException e) {
+            ui.showMessageFramedWithDivider(e.toString());
+        }
         ui.showBye();
+        Ui.flush();
         System.exit(0);
     }
 
+    /**
+     * Shows the arguments that are not options Dude understands and exits the application without starting it, so
+     * that a misspelt option is never silently ignored.
+     *
+     * @param options Options given on the command line
+     */
+    private void exitWithUnknownOptions(StartupOptions options) {
+        Ui.showMessageFramedWithDivider(String.format(Ui.MESSAGE_ERROR_UNKNOWN_OPTIONS,
+                String.join(" ", options.getUnknownArgs()), StartupOptions.getKnownOptionsString()));
+        Ui.flush();
+        System.exit(1);
+    }
+
+    /**
+     * Converts the storage file to the given format, for the one-shot migration run with "--migrate=binary".
+     * Nothing is converted if the storage file could not be loaded.
+     *
+     * @param format Name of the format to convert the storage file to
+     */
+    private void migrate(String format) {
+        if (persister == null) {
+            return;
+        }
+        final StorageFormat targetFormat = StorageFormat.fromName(format, StorageFormat.BINARY);
+        try {
+            storage.migrateTaskList(tasks, targetFormat);
+            ui.showMessageFramedWithDivider(String.format(Ui.MESSAGE_DATA_MIGRATED, targetFormat.name().toLowerCase()));
+        } catch (UnableToWriteToFileException e) {
+            ui.showMessageFramedWithDivider(e.toString());
+        }
+    }
+
     /**
      * Executes the given Command and calls for storage operation if required.
+     * The task list is locked while the command runs, as it may be read by the persister in the background.
+     * All pending changes are saved before the Bye command returns, unless the storage file could not be loaded.
+     *
      * @param command Command to be executed
      * @return CommandResult representing result of execution of the command
      */
     private CommandResult executeCommand(Command command) {
         command.setTasks(this.tasks);
-        CommandResult result = command.execute();
-        if (Command.requiresStorageRewrite(command)) {
-            try {
-                storage.rewriteTaskListToFile(tasks);
-            } catch (UnableToWriteToFileException e) {
-                ui.showMessageFramedWithDivider(e.toString());
+        CommandResult result;
+        synchronized (tasks) {
+            result = command.execute();
+        }
+        if (persister == null) {
+            return result;
+        }
+        try {
+            if (Command.requiresStorageRewrite(command)) {
+                persister.markDirty();
             }
+            if (ByeCommand.isBye(command)) {
+                persister.drain();
+            }
+        } catch (UnableToWriteToFileException e) {
+            ui.showMessageFramedWithDivider(e.toString());
         }
         return result;
     }
 
     /**
      * Reads the user input and executes appropriate command.
-     * Runs indefinitely until user inputs the Bye command.
+     * Runs until user inputs the Bye command, or until the end of the input (i.e. of a script), which is treated as
+     * the Bye command.
+     *
+     * @param numCommandsPerSave Number of commands after which pending changes are saved, or 0 to leave saving to
+     *                           the persister alone
      */
-    private void enterTaskModeUntilByeCommand() {
+    private void enterTaskModeUntilByeCommand(long numCommandsPerSave) {
         Command command;
+        long numCommandsSinceSave = 0;
         do {
             String userInput = ui.getUserInput();
-            command = new Parser().parseCommand(userInput);
+            command = (userInput == null) ? new ByeCommand() : parser.parseCommand(userInput);
             CommandResult result = executeCommand(command);
-            ui.showMessageFramedWithDivider(result.toString());
+            ui.showResultFramedWithDivider(result);
+            numCommandsSinceSave++;
+            if (numCommandsPerSave > 0 && numCommandsSinceSave >= numCommandsPerSave) {
+                saveChanges();
+                numCommandsSinceSave = 0;
+            }
         } while (!ByeCommand.isBye(command));
     }
 
+    /** Saves the changes not yet saved by the persister, e.g. every so many commands of a script */
+    private void saveChanges() {
+        if (persister == null) {
+            return;
+        }
+        try {
+            persister.flush();
+        } catch (UnableToWriteToFileException e) {
+            ui.showMessageFramedWithDivider(e.toString());
+        }
+    }
+
     /** Entry point of the application. */
     public static void main(String[] args) {
         new Main().run(args);
@@ -81,8 +288,17 @@ public class Main {
 
     /** Runs the application until command is given to exit it. **/
     private void run(String[] args) {
-        start();
-        enterTaskModeUntilByeCommand();
+        final StartupOptions options = new StartupOptions(args);
+        if (!options.getUnknownArgs().isEmpty()) {
+            exitWithUnknownOptions(options);
+        }
+        start(options);
+        if (options.hasOption(StartupOptions.OPTION_MIGRATE)) {
+            migrate(options.getOptionValue(StartupOptions.OPTION_MIGRATE, ""));
+        } else {
+            enterTaskModeUntilByeCommand(options.getOptionValueAsLong(StartupOptions.OPTION_SAVE_EVERY,
+                    DEFAULT_COMMANDS_PER_SAVE));
+        }
         exit();
     }
 
@@ -0,0 +1,103 @@
+package duke;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the options given to Dude on the command line.
+ * Options are given in the form "--name" or "--name=value", e.g. "--journal".
+ */
+public class StartupOptions {
+    public static final String OPTION_JOURNAL = "journal";
+    public static final String OPTION_DURABILITY = "durability";
+    public static final String OPTION_MAX_FLUSH_DELAY = "max-flush-delay";
+    public static final String OPTION_FORMAT = "format";
+    public static final String OPTION_MIGRATE = "migrate";
+    public static final String OPTION_LAZY = "lazy";
+    public static final String OPTION_STORE = "store";
+    public static final String STORE_TREE = "tree";
+    public static final String STORE_COLUMNAR = "columnar";
+    public static final String STORE_OFF_HEAP = "offheap";
+    public static final String OPTION_REMIND = "remind";
+    public static final String OPTION_SCRIPT = "script";
+    public static final String OPTION_BATCH = "batch";
+    public static final String OPTION_QUIET = "quiet";
+    public static final String OPTION_SAVE_EVERY = "save-every";
+    public static final String OPTION_JSON = "json";
+    public static final String OPTION_PARALLEL_SCAN_THRESHOLD = "parallel-scan-threshold";
+
+    /** Names of all options that Dude understands */
+    public static final List<String> KNOWN_OPTIONS = Arrays.asList(OPTION_JOURNAL, OPTION_DURABILITY,
+            OPTION_MAX_FLUSH_DELAY, OPTION_FORMAT, OPTION_MIGRATE, OPTION_LAZY, OPTION_STORE, OPTION_REMIND,
+            OPTION_SCRIPT, OPTION_BATCH, OPTION_QUIET, OPTION_SAVE_EVERY, OPTION_JSON, OPTION_PARALLEL_SCAN_THRESHOLD);
+
+    private static final String OPTION_PREFIX = "--";
+    private static final String VALUE_SEPARATOR = "=";
+
+    private final Map<String, String> options = new HashMap<>();
+    /** Arguments that are not options Dude understands, e.g. misspelt ones */
+    private final List<String> unknownArgs = new ArrayList<>();
+
+    /**
+     * Constructs StartupOptions from the command line arguments.
+     * Arguments that are not options Dude understands are kept aside, so that they can be reported.
+     *
+     * @param args Command line arguments
+     */
+    public StartupOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith(OPTION_PREFIX)) {
+                unknownArgs.add(arg);
+                continue;
+            }
+            final String[] nameAndValue = arg.substring(OPTION_PREFIX.length()).split(VALUE_SEPARATOR, 2);
+            if (!KNOWN_OPTIONS.contains(nameAndValue[0])) {
+                unknownArgs.add(arg);
+                continue;
+            }
+            options.put(nameAndValue[0], (nameAndValue.length >= 2) ? nameAndValue[1] : null);
+        }
+    }
+
+    /** Returns the arguments that are not options Dude understands, in the order they were given */
+    public List<String> getUnknownArgs() {
+        return unknownArgs;
+    }
+
+    /** Returns the names of all options that Dude understands, each with its prefix, separated by commas */
+    public static String getKnownOptionsString() {
+        final List<String> prefixedNames = new ArrayList<>();
+        for (String name : KNOWN_OPTIONS) {
+            prefixedNames.add(OPTION_PREFIX + name);
+        }
+        return String.join(", ", prefixedNames);
+    }
+
+    /** Returns true if the option with the given name was given */
+    public boolean hasOption(String name) {
+        return options.containsKey(name);
+    }
+
+    /**
+     * Returns the value of the option with the given name, or the default value if the option was not given with a value
+     */
+    public String getOptionValue(String name, String defaultValue) {
+        final String value = options.get(name);
+        return (value == null) ? defaultValue : value;
+    }
+
+    /**
+     * Returns the value of the option with the given name as a number, or the default value if the option was not
+     * given with a valid number
+     */
+    public long getOptionValueAsLong(String name, long defaultValue) {
+        try {
+            return Long.parseLong(getOptionValue(name, Long.toString(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package duke.data.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Store of tasks kept column by column in primitive arrays instead of as one object per task: a type column (with
+ * the done status in its highest bit, as in the binary storage format), a column of dates and times in epoch seconds,
+ * a column of ids, and the descriptions packed into a {@link DescriptionArena}. A task costs about 25 bytes plus its
+ * description, against well over 100 bytes for a Deadline or Event object with its LocalDateTime.
+ *
+ * Tasks are only made as objects when they are accessed, as a view of their columns. Changes to such a view (i.e.
+ * marking it as done) are kept when the task is set back at its index, which the TaskList does.
+ * Dates and times are kept to the second, like in the binary storage format.
+ *
+ * With {@link #withOffHeapDescriptions()}, the descriptions are kept outside the heap, which leaves the heap with
+ * only the fixed size columns of each task.
+ */
+public class ColumnarTaskStore extends AbstractList<Task> implements RandomAccess, IdSearchableStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final byte DONE_FLAG = (byte) 0x80;
+    private static final byte TYPE_MASK = 0x7F;
+
+    private byte[] typesAndDone = new byte[INITIAL_CAPACITY];
+    private long[] epochSeconds = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private final DescriptionArena descriptions;
+    private int size;
+
+    /** Constructs empty store that keeps the descriptions on the heap */
+    public ColumnarTaskStore() {
+        this(new HeapDescriptionArena());
+    }
+
+    private ColumnarTaskStore(DescriptionArena descriptions) {
+        this.descriptions = descriptions;
+    }
+
+    /** Returns an empty store that keeps the descriptions in native memory outside the heap */
+    public static ColumnarTaskStore withOffHeapDescriptions() {
+        return new ColumnarTaskStore(new OffHeapDescriptionArena());
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        final String description = descriptions.get(descriptionOffsets[index], descriptionLengths[index]);
+        final boolean isDone = (typesAndDone[index] & DONE_FLAG) != 0;
+        final Task task;
+        switch (typesAndDone[index] & TYPE_MASK) {
+        case TYPE_DEADLINE:
+            task = new Deadline(description, toDateAndTime(epochSeconds[index]), isDone);
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, toDateAndTime(epochSeconds[index]), isDone);
+            break;
+        default:
+            task = new Todo(description, isDone);
+        }
+        task.setId(ids[index]);
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        final Task previousTask = get(index);
+        if (task.getId() == ids[index]) {
+            //Same task, whose description cannot have changed, so only the done status is written back
+            typesAndDone[index] = encodeTypeAndDone(task);
+        } else {
+            descriptions.release(descriptionLengths[index]);
+            write(index, task);
+        }
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(size + 1);
+        final int numTasksToMove = size - index;
+        System.arraycopy(typesAndDone, index, typesAndDone, index + 1, numTasksToMove);
+        System.arraycopy(epochSeconds, index, epochSeconds, index + 1, numTasksToMove);
+        System.arraycopy(ids, index, ids, index + 1, numTasksToMove);
+        System.arraycopy(descriptionOffsets, index, descriptionOffsets, index + 1, numTasksToMove);
+        System.arraycopy(descriptionLengths, index, descriptionLengths, index + 1, numTasksToMove);
+        write(index, task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        final Task removedTask = get(index);
+        descriptions.release(descriptionLengths[index]);
+        final int numTasksToMove = size - index - 1;
+        System.arraycopy(typesAndDone, index + 1, typesAndDone, index, numTasksToMove);
+        System.arraycopy(epochSeconds, index + 1, epochSeconds, index, numTasksToMove);
+        System.arraycopy(ids, index + 1, ids, index, numTasksToMove);
+        System.arraycopy(descriptionOffsets, index + 1, descriptionOffsets, index, numTasksToMove);
+        System.arraycopy(descriptionLengths, index + 1, descriptionLengths, index, numTasksToMove);
+        size--;
+        modCount++;
+        if (descriptions.isWorthCompacting()) {
+            compact();
+        }
+        return removedTask;
+    }
+
+    /**
+     * Removes the tasks matching the filter in one pass over the columns, instead of moving the tasks after each
+     * removed task once per removal.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        return removeAt(index -> filter.test(get(index)));
+    }
+
+    /**
+     * Removes the tasks with the given ids in one pass over the columns, like {@link #removeIf(Predicate)}, but
+     * looking only at the id column, so that no task is made as an object.
+     *
+     * @param sortedIds Ids of the tasks to remove, in increasing order
+     * @return True if any task was removed
+     */
+    public boolean removeIds(long[] sortedIds) {
+        return removeAt(index -> Arrays.binarySearch(sortedIds, ids[index]) >= 0);
+    }
+
+    /** Searches the id column, so that no task is made as an object */
+    @Override
+    public int binarySearchId(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /** Removes the tasks at the indices matching the filter, moving each kept task at most once */
+    private boolean removeAt(IntPredicate isRemoved) {
+        int numKeptTasks = 0;
+        for (int i = 0; i < size; i++) {
+            if (isRemoved.test(i)) {
+                descriptions.release(descriptionLengths[i]);
+                continue;
+            }
+            typesAndDone[numKeptTasks] = typesAndDone[i];
+            epochSeconds[numKeptTasks] = epochSeconds[i];
+            ids[numKeptTasks] = ids[i];
+            descriptionOffsets[numKeptTasks] = descriptionOffsets[i];
+            descriptionLengths[numKeptTasks] = descriptionLengths[i];
+            numKeptTasks++;
+        }
+        if (numKeptTasks == size) {
+            return false;
+        }
+        size = numKeptTasks;
+        modCount++;
+        if (descriptions.isWorthCompacting()) {
+            compact();
+        }
+        return true;
+    }
+
+    /**
+     * Compacts the store like {@link #compact()}, but only if the descriptions of removed tasks take up at least the
+     * given fraction of the space of all descriptions, so that removing a few tasks from a large store does not copy
+     * every description left.
+     *
+     * @param fraction Fraction of the space, from 0 to 1
+     * @return Number of bytes reclaimed, 0 if the store was not compacted
+     */
+    public long compactIfGarbageOfAtLeast(double fraction) {
+        if (!descriptions.hasGarbageOfAtLeast(fraction)) {
+            return 0;
+        }
+        return compact();
+    }
+
+    /**
+     * Reclaims the space left by the descriptions of removed tasks. The store compacts itself once at least half of
+     * the space of its descriptions is left over; see {@link #compactIfGarbageOfAtLeast(double)} to do it earlier.
+     * Each compaction copies every description still in the store.
+     *
+     * @return Number of bytes reclaimed
+     */
+    public long compact() {
+        final long numBytesReclaimed = descriptions.getNumGarbageBytes();
+        descriptions.compact(descriptionOffsets, descriptionLengths, size);
+        return numBytesReclaimed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        compact();
+        modCount++;
+    }
+
+    private void write(int index, Task task) {
+        final byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        typesAndDone[index] = encodeTypeAndDone(task);
+        epochSeconds[index] = toEpochSecond(task);
+        ids[index] = task.getId();
+        descriptionOffsets[index] = descriptions.add(description);
+        descriptionLengths[index] = description.length;
+    }
+
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= ids.length) {
+            return;
+        }
+        final int newCapacity = Math.max(requiredCapacity, ids.length * 2);
+        typesAndDone = Arrays.copyOf(typesAndDone, newCapacity);
+        epochSeconds = Arrays.copyOf(epochSeconds, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    private static byte encodeTypeAndDone(Task task) {
+        final byte type;
+        if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            type = TYPE_EVENT;
+        } else {
+            type = TYPE_TODO;
+        }
+        return (byte) (task.isDone() ? type | DONE_FLAG : type);
+    }
+
+    /** Date and time are kept without a time zone, so UTC is only used as a fixed reference point */
+    private static long toEpochSecond(Task task) {
+        final LocalDateTime dateAndTime = task.getDateAndTime();
+        return (dateAndTime == null) ? 0 : dateAndTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateAndTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
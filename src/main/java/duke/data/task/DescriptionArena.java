@@ -0,0 +1,85 @@
+package duke.data.task;
+
+/**
+ * Arena holding task descriptions encoded in UTF-8, packed one after another, so that a description costs its bytes
+ * and no object headers. A description is identified by its offset and length.
+ * Removing a description only counts its bytes as garbage; the space is reclaimed by compacting the arena.
+ *
+ * Subclasses decide where the bytes are kept, i.e. on the heap or off it.
+ */
+abstract class DescriptionArena {
+    protected static final int INITIAL_CAPACITY = 1024;
+    /** Largest array size that the JVM is sure to be able to allocate */
+    protected static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    protected int size;
+    protected long numGarbageBytes;
+
+    /**
+     * Adds the description to the end of the arena.
+     *
+     * @param description Description encoded in UTF-8
+     * @return Offset of the description in the arena
+     * @throws IllegalStateException If the arena cannot grow to hold the description
+     */
+    int add(byte[] description) {
+        final long requiredCapacity = (long) size + description.length;
+        if (requiredCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Description arena is full");
+        }
+        if (requiredCapacity > getCapacity()) {
+            grow((int) Math.min(MAX_CAPACITY, Math.max(requiredCapacity, 2L * getCapacity())));
+        }
+        final int offset = size;
+        write(offset, description);
+        size += description.length;
+        return offset;
+    }
+
+    /** Returns the number of bytes the arena can hold before it has to grow */
+    protected abstract int getCapacity();
+
+    /** Moves the bytes in use to new space of the given capacity */
+    protected abstract void grow(int newCapacity);
+
+    /** Writes the description at the given offset, which has enough space for it */
+    protected abstract void write(int offset, byte[] description);
+
+    /** Returns the description at the given offset */
+    abstract String get(int offset, int length);
+
+    /** Marks the description of the given length as removed, so that its space can be reclaimed by compaction */
+    void release(int length) {
+        numGarbageBytes += length;
+    }
+
+    /** Returns true if at least half of the arena holds removed descriptions */
+    boolean isWorthCompacting() {
+        return hasGarbageOfAtLeast(0.5);
+    }
+
+    /** Returns true if at least the given fraction of the arena, from 0 to 1, holds removed descriptions */
+    boolean hasGarbageOfAtLeast(double fraction) {
+        return size > INITIAL_CAPACITY && numGarbageBytes > 0 && numGarbageBytes >= fraction * size;
+    }
+
+    /** Returns the number of bytes held by removed descriptions */
+    long getNumGarbageBytes() {
+        return numGarbageBytes;
+    }
+
+    /**
+     * Moves the given descriptions, which must be all those that have not been removed, to the start of new space
+     * just large enough for them, in the given order, and updates their offsets.
+     *
+     * @param offsets Offsets of the descriptions, updated in place
+     * @param lengths Lengths of the descriptions
+     * @param numDescriptions Number of descriptions in the arrays
+     */
+    abstract void compact(int[] offsets, int[] lengths, int numDescriptions);
+
+    /** Returns the capacity for the descriptions left after compaction */
+    protected int getCompactedCapacity() {
+        return Math.max(INITIAL_CAPACITY, (int) (size - numGarbageBytes));
+    }
+}
@@ -0,0 +1,163 @@
+package duke.data.task;
+
+/**
+ * Pool of the task descriptions in a TaskList, so that tasks with equal descriptions share a single String instead of
+ * each holding a copy, e.g. when a list imported from elsewhere repeats the same few descriptions many times.
+ * Each description keeps a count of the tasks using it, and leaves the pool once the last of them is deleted.
+ *
+ * The pool is an open addressing hash table with linear probing kept in two plain arrays, so that a description costs
+ * about 16 bytes in the pool, against at least 48 bytes for every copy of it that is shared.
+ * Descriptions that are mostly unique therefore cost more in the pool than they save, which the owner of the pool can
+ * check with {@link #isWorthKeeping()}.
+ */
+class DescriptionPool {
+    private static final int INITIAL_CAPACITY = 16;
+    /** Size of the String object and the header of its byte array, on a 64-bit JVM with compressed pointers */
+    private static final int STRING_OVERHEAD_IN_BYTES = 24 + 16;
+    private static final int OBJECT_ALIGNMENT_IN_BYTES = 8;
+    /** Size of a slot of the table, i.e. a compressed reference and a count */
+    private static final int SLOT_SIZE_IN_BYTES = 4 + 4;
+    /** Number of descriptions to see before judging whether the pool is worth keeping */
+    private static final int MIN_DESCRIPTIONS_TO_JUDGE = 4096;
+
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[] referenceCounts = new int[INITIAL_CAPACITY];
+    private int numDescriptions;
+    private long numSharedReferences;
+    private long numBytesSaved;
+
+    /**
+     * Returns the description in the pool equal to the given one, adding it if there is none, and counts one more
+     * task using it.
+     */
+    String acquire(String description) {
+        int slot = getSlot(description);
+        while (descriptions[slot] != null) {
+            if (descriptions[slot].equals(description)) {
+                referenceCounts[slot]++;
+                numSharedReferences++;
+                numBytesSaved += estimateSize(description);
+                return descriptions[slot];
+            }
+            slot = getNextSlot(slot);
+        }
+
+        descriptions[slot] = description;
+        referenceCounts[slot] = 1;
+        numDescriptions++;
+        //Kept at most half full, so that probes stay short
+        if (numDescriptions * 2 > descriptions.length) {
+            resize(descriptions.length * 2);
+        }
+        return description;
+    }
+
+    /**
+     * Counts one less task using the description, removing it from the pool if no task uses it any more.
+     * Descriptions that are not in the pool are ignored.
+     */
+    void release(String description) {
+        int slot = getSlot(description);
+        while (descriptions[slot] != null) {
+            if (descriptions[slot].equals(description)) {
+                if (referenceCounts[slot] > 1) {
+                    referenceCounts[slot]--;
+                    numSharedReferences--;
+                    numBytesSaved -= estimateSize(description);
+                } else {
+                    removeAt(slot);
+                }
+                return;
+            }
+            slot = getNextSlot(slot);
+        }
+    }
+
+    /** Returns the number of tasks using a description that another task also uses, i.e. copies avoided */
+    long getNumSharedReferences() {
+        return numSharedReferences;
+    }
+
+    /** Returns an estimate of the heap memory saved by sharing descriptions, in bytes */
+    long getNumBytesSaved() {
+        return numBytesSaved;
+    }
+
+    /**
+     * Returns true if the memory saved by sharing descriptions is at least the memory taken by the table, or too few
+     * descriptions have been seen yet to tell.
+     */
+    boolean isWorthKeeping() {
+        return numDescriptions + numSharedReferences < MIN_DESCRIPTIONS_TO_JUDGE
+                || numBytesSaved >= (long) descriptions.length * SLOT_SIZE_IN_BYTES;
+    }
+
+    /**
+     * Removes the description in the slot, then moves back each description after it in the same run of occupied
+     * slots that can take its place, so that no probe for them stops early at the emptied slot.
+     */
+    private void removeAt(int slot) {
+        int emptySlot = slot;
+        int nextSlot = getNextSlot(slot);
+        while (descriptions[nextSlot] != null) {
+            final int homeSlot = getSlot(descriptions[nextSlot]);
+            //The description may move back only if its home slot is not between the emptied slot and itself
+            final boolean isHomeAfterEmptySlot = (emptySlot <= nextSlot)
+                    ? (emptySlot < homeSlot && homeSlot <= nextSlot)
+                    : (emptySlot < homeSlot || homeSlot <= nextSlot);
+            if (!isHomeAfterEmptySlot) {
+                descriptions[emptySlot] = descriptions[nextSlot];
+                referenceCounts[emptySlot] = referenceCounts[nextSlot];
+                emptySlot = nextSlot;
+            }
+            nextSlot = getNextSlot(nextSlot);
+        }
+        descriptions[emptySlot] = null;
+        referenceCounts[emptySlot] = 0;
+        numDescriptions--;
+    }
+
+    private void resize(int newCapacity) {
+        final String[] oldDescriptions = descriptions;
+        final int[] oldReferenceCounts = referenceCounts;
+        descriptions = new String[newCapacity];
+        referenceCounts = new int[newCapacity];
+        for (int i = 0; i < oldDescriptions.length; i++) {
+            if (oldDescriptions[i] == null) {
+                continue;
+            }
+            int slot = getSlot(oldDescriptions[i]);
+            while (descriptions[slot] != null) {
+                slot = getNextSlot(slot);
+            }
+            descriptions[slot] = oldDescriptions[i];
+            referenceCounts[slot] = oldReferenceCounts[i];
+        }
+    }
+
+    private int getSlot(String description) {
+        final int hash = description.hashCode();
+        //Mixes the high bits into the low ones, which are all that pick the slot
+        return (hash ^ (hash >>> 16)) & (descriptions.length - 1);
+    }
+
+    private int getNextSlot(int slot) {
+        return (slot + 1) & (descriptions.length - 1);
+    }
+
+    /**
+     * Returns the heap size of a String holding the description. Strings of only Latin-1 characters take one byte
+     * per character, and all others two.
+     */
+    private static long estimateSize(String description) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < description.length(); i++) {
+            if (description.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        final long size = STRING_OVERHEAD_IN_BYTES + (long) bytesPerChar * description.length();
+        return (size + OBJECT_ALIGNMENT_IN_BYTES - 1) / OBJECT_ALIGNMENT_IN_BYTES * OBJECT_ALIGNMENT_IN_BYTES;
+    }
+}
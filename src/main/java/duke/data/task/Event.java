@@ -1,9 +1,6 @@
 package duke.data.task;
 
-import duke.ui.Ui;
-
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * This class is used for tasks that start at a specific date and time
@@ -22,8 +19,13 @@ public class Event extends Task {
         this.dateAndTime = dateAndTime;
     }
 
+    @Override
+    public LocalDateTime getDateAndTime() {
+        return this.dateAndTime;
+    }
+
     public String getFormattedDateAndTime() {
-        return this.dateAndTime.format(DateTimeFormatter.ofPattern(Ui.DATE_TIME_FORMAT_TO_PRINT));
+        return this.dateAndTime.format(DATE_TIME_FORMATTER_TO_PRINT);
     }
 
 
@@ -0,0 +1,45 @@
+package duke.data.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Description arena that keeps the descriptions in a single byte array on the heap.
+ */
+class HeapDescriptionArena extends DescriptionArena {
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    @Override
+    protected int getCapacity() {
+        return bytes.length;
+    }
+
+    @Override
+    protected void grow(int newCapacity) {
+        bytes = Arrays.copyOf(bytes, newCapacity);
+    }
+
+    @Override
+    protected void write(int offset, byte[] description) {
+        System.arraycopy(description, 0, bytes, offset, description.length);
+    }
+
+    @Override
+    String get(int offset, int length) {
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void compact(int[] offsets, int[] lengths, int numDescriptions) {
+        final byte[] compactedBytes = new byte[getCompactedCapacity()];
+        int compactedSize = 0;
+        for (int i = 0; i < numDescriptions; i++) {
+            System.arraycopy(bytes, offsets[i], compactedBytes, compactedSize, lengths[i]);
+            offsets[i] = compactedSize;
+            compactedSize += lengths[i];
+        }
+        bytes = compactedBytes;
+        size = compactedSize;
+        numGarbageBytes = 0;
+    }
+}
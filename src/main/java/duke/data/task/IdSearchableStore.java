@@ -0,0 +1,18 @@
+package duke.data.task;
+
+/**
+ * Represents a store of tasks that can find a task by its id without making any task as an object, e.g. because it
+ * keeps its tasks in some other form, or because it is a tree that can be searched from its root.
+ * The TaskList uses it to number the tasks of search results, instead of getting tasks to compare their ids.
+ */
+public interface IdSearchableStore {
+
+    /**
+     * Searches the store for the task with the given id, like {@link java.util.Arrays#binarySearch(long[], long)}
+     * on the ids of the tasks in list order, which only increase.
+     *
+     * @param id Id of the task to search for
+     * @return Index of the task with the id, if there is one, otherwise (-(insertion point) - 1)
+     */
+    int binarySearchId(long id);
+}
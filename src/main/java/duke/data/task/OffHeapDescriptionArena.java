@@ -0,0 +1,62 @@
+package duke.data.task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Description arena that keeps the descriptions in a direct ByteBuffer, i.e. in native memory outside the heap.
+ * The garbage collector never has to copy or scan the descriptions, so heap use and GC pauses no longer grow with
+ * their total size. The native memory of a buffer is freed once the buffer itself is collected, so after growing or
+ * compacting, the memory of the previous buffer is held until the next GC. It counts towards the JVM's limit on
+ * direct memory (-XX:MaxDirectMemorySize), which defaults to the maximum heap size.
+ *
+ * Descriptions are only read with absolute gets, which do not change the state of the buffer, so several threads may
+ * read them at once, as long as none of them adds a description or compacts the arena.
+ */
+class OffHeapDescriptionArena extends DescriptionArena {
+    private ByteBuffer bytes = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+    @Override
+    protected int getCapacity() {
+        return bytes.capacity();
+    }
+
+    @Override
+    protected void grow(int newCapacity) {
+        final ByteBuffer grownBytes = ByteBuffer.allocateDirect(newCapacity);
+        final ByteBuffer bytesInUse = bytes.duplicate();
+        bytesInUse.position(0).limit(size);
+        grownBytes.put(bytesInUse);
+        bytes = grownBytes;
+    }
+
+    @Override
+    protected void write(int offset, byte[] description) {
+        bytes.position(offset);
+        bytes.put(description);
+    }
+
+    @Override
+    String get(int offset, int length) {
+        final byte[] description = new byte[length];
+        for (int i = 0; i < length; i++) {
+            description[i] = bytes.get(offset + i);
+        }
+        return new String(description, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    void compact(int[] offsets, int[] lengths, int numDescriptions) {
+        final ByteBuffer compactedBytes = ByteBuffer.allocateDirect(getCompactedCapacity());
+        final ByteBuffer description = bytes.duplicate();
+        for (int i = 0; i < numDescriptions; i++) {
+            //The limit is set first, as the position may not be past it
+            description.limit(offsets[i] + lengths[i]).position(offsets[i]);
+            offsets[i] = compactedBytes.position();
+            compactedBytes.put(description);
+        }
+        bytes = compactedBytes;
+        size = bytes.position();
+        numGarbageBytes = 0;
+    }
+}
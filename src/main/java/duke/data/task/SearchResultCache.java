@@ -0,0 +1,182 @@
+package duke.data.task;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the results of recent searches, from the lowercased search term to the matching tasks and the
+ * string form of the matching tasks, evicting the least recently used term when full.
+ *
+ * Each result is tagged with the version of the TaskList it is valid for. On every change to the list, the cache
+ * checks each result against the change: results that the change does not affect are moved to the new version,
+ * results that are affected are dropped (or only their string form is, when just the task numbers changed), and a
+ * result left on an older version is never returned.
+ */
+class SearchResultCache implements TaskListListener {
+    private static final int CAPACITY = 32;
+
+    /** Result of one search */
+    static class Result {
+        private final List<Task> matchingTasks;
+        private String stringOfMatchingTasks;
+        private long version;
+
+        private Result(List<Task> matchingTasks, long version) {
+            this.matchingTasks = matchingTasks;
+            this.version = version;
+        }
+
+        List<Task> getMatchingTasks() {
+            return matchingTasks;
+        }
+
+        /** Returns the string form of the matching tasks, or null if it has not been made for this version */
+        String getStringOfMatchingTasks() {
+            return stringOfMatchingTasks;
+        }
+
+        void setStringOfMatchingTasks(String stringOfMatchingTasks) {
+            this.stringOfMatchingTasks = stringOfMatchingTasks;
+        }
+
+        /** Returns true if the matching tasks include the task with the given id */
+        private boolean containsTaskWithId(long id) {
+            return indexOfTaskWithId(id) >= 0;
+        }
+
+        /** Returns the index of the task with the given id in the matching tasks (which are sorted by id), or -1 */
+        private int indexOfTaskWithId(long id) {
+            int low = 0;
+            int high = matchingTasks.size() - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final long midId = matchingTasks.get(mid).getId();
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private boolean hasTaskAfterId(long id) {
+            return !matchingTasks.isEmpty() && matchingTasks.get(matchingTasks.size() - 1).getId() > id;
+        }
+    }
+
+    private final Map<String, Result> resultsByTerm = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    /** Version of the TaskList that the results checked on the last change are valid for */
+    private long version;
+    private long numHits;
+    private long numMisses;
+
+    SearchResultCache(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Returns the result of searching for the term in the given version of the TaskList, or null if it is not cached.
+     *
+     * @param lowerCaseSearchTerm Search term in lower case
+     * @param currentVersion Current version of the TaskList
+     */
+    Result get(String lowerCaseSearchTerm, long currentVersion) {
+        final Result result = resultsByTerm.get(lowerCaseSearchTerm);
+        if (result == null || result.version != currentVersion) {
+            numMisses++;
+            return null;
+        }
+        numHits++;
+        return result;
+    }
+
+    /**
+     * Caches the tasks matching the term in the given version of the TaskList.
+     *
+     * @param lowerCaseSearchTerm Search term in lower case
+     * @param matchingTasks Matching tasks, in the order of the list
+     * @param currentVersion Current version of the TaskList
+     * @return Cached result
+     */
+    Result put(String lowerCaseSearchTerm, List<Task> matchingTasks, long currentVersion) {
+        final Result result = new Result(matchingTasks, currentVersion);
+        resultsByTerm.put(lowerCaseSearchTerm, result);
+        return result;
+    }
+
+    long getNumHits() {
+        return numHits;
+    }
+
+    long getNumMisses() {
+        return numMisses;
+    }
+
+    /**
+     * Moves the results that are still valid to the next version of the TaskList and drops the others.
+     * Results on an older version than the last change missed a change, so they are dropped too.
+     */
+    @Override
+    public void onTaskAdded(Task task) {
+        final String description = task.description.toLowerCase();
+        final Iterator<Map.Entry<String, Result>> entries = resultsByTerm.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<String, Result> entry = entries.next();
+            //The task is added to the end, so other task numbers stay the same
+            if (entry.getValue().version != version || description.contains(entry.getKey())) {
+                entries.remove();
+            } else {
+                entry.getValue().version = version + 1;
+            }
+        }
+        version++;
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        final Iterator<Result> results = resultsByTerm.values().iterator();
+        while (results.hasNext()) {
+            final Result result = results.next();
+            if (result.version != version || result.containsTaskWithId(task.getId())) {
+                results.remove();
+                continue;
+            }
+            //Tasks after the deleted task move up by one, which changes their task numbers
+            if (result.hasTaskAfterId(task.getId())) {
+                result.stringOfMatchingTasks = null;
+            }
+            result.version = version + 1;
+        }
+        version++;
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        final Iterator<Result> results = resultsByTerm.values().iterator();
+        while (results.hasNext()) {
+            final Result result = results.next();
+            if (result.version != version) {
+                results.remove();
+                continue;
+            }
+            final int index = result.indexOfTaskWithId(task.getId());
+            if (index >= 0) {
+                //The store may have handed out a different copy of the task before it was marked as done
+                result.matchingTasks.set(index, task);
+                result.stringOfMatchingTasks = null;
+            }
+            result.version = version + 1;
+        }
+        version++;
+    }
+}
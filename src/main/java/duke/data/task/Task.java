@@ -1,6 +1,10 @@
 package duke.data.task;
 
 import duke.logic.exceptions.TaskAlreadyDoneException;
+import duke.ui.Ui;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * This class is used to create tasks.
@@ -9,7 +13,10 @@ import duke.logic.exceptions.TaskAlreadyDoneException;
 public class Task {
     protected String description;
     protected boolean isDone;
+    private long id = UNASSIGNED_ID;
 
+    /** Id of a task that has not been added to a TaskList */
+    public static final long UNASSIGNED_ID = -1;
     protected static final String ICON_DONE = "[X]";
     protected static final String ICON_NOT_DONE =  "[ ]";
     public static final String TODO_ACRONYM = "T";
@@ -18,6 +25,9 @@ public class Task {
     protected static final String DEADLINE_LOGO = "[" + DEADLINE_ACRONYM + "]";
     public static final String EVENT_ACRONYM = "E";
     protected static final String EVENT_LOGO = "[" + EVENT_ACRONYM + "]";
+    /** Formatter for dates shown in the application UI, shared as making one parses its pattern */
+    protected static final DateTimeFormatter DATE_TIME_FORMATTER_TO_PRINT =
+            DateTimeFormatter.ofPattern(Ui.DATE_TIME_FORMAT_TO_PRINT);
 
     public Task(String description) {
         this.description = description;
@@ -33,6 +43,32 @@ public class Task {
         return this.description;
     }
 
+    /**
+     * Returns the id of the task, which identifies it within its TaskList.
+     * Ids increase in the order tasks appear in the list, so the position of a task can be found by binary search.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the task. To be called only by the TaskList, or the store holding its tasks, when the task is added.
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Returns the date and time of the task, or null if the task does not have one (i.e. it is a Todo)
+     */
+    public LocalDateTime getDateAndTime() {
+        return null;
+    }
+
     public String getStatusIcon() {
         return (this.isDone ? ICON_DONE : ICON_NOT_DONE); //marks task done with "X"
     }
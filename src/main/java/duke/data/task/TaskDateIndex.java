@@ -0,0 +1,76 @@
+package duke.data.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Sorted index from the date and time of each Deadline and Event to the ids of the tasks at that date and time, so
+ * that the tasks within a range of dates are found in O(log n + k) time instead of by checking every task.
+ * The index is kept up to date by listening to the TaskList.
+ */
+class TaskDateIndex implements TaskListListener {
+    private final NavigableMap<LocalDateTime, TaskIdPostings> postingsByDateAndTime = new TreeMap<>();
+
+    /**
+     * Constructs the index of all the given tasks, which must already have their ids.
+     */
+    TaskDateIndex(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            addTask(task);
+        }
+    }
+
+    private void addTask(Task task) {
+        final LocalDateTime dateAndTime = task.getDateAndTime();
+        if (dateAndTime != null) {
+            postingsByDateAndTime.computeIfAbsent(dateAndTime, key -> new TaskIdPostings()).add(task.getId());
+        }
+    }
+
+    private void removeTask(Task task) {
+        final LocalDateTime dateAndTime = task.getDateAndTime();
+        if (dateAndTime == null) {
+            return;
+        }
+        final TaskIdPostings postings = postingsByDateAndTime.get(dateAndTime);
+        if (postings == null) {
+            return;
+        }
+        postings.remove(task.getId());
+        if (postings.isEmpty()) {
+            postingsByDateAndTime.remove(dateAndTime);
+        }
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        addTask(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        removeTask(task);
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        //Marking a task as done does not change its date and time
+    }
+
+    /**
+     * Returns the ids of the tasks with a date and time from the start to the end (both inclusive), earliest first.
+     * Tasks at the same date and time are in list order.
+     */
+    List<Long> findIdsWithinDates(LocalDateTime start, LocalDateTime end) {
+        final List<Long> ids = new ArrayList<>();
+        for (TaskIdPostings postings : postingsByDateAndTime.subMap(start, true, end, true).values()) {
+            for (long id : postings.toArray()) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,78 @@
+package duke.data.task;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of task ids, kept in a plain long array so that an index entry costs 8 bytes per task.
+ * New tasks are given the largest id so far, so adding a task is usually an append.
+ */
+class TaskIdPostings {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /** Adds the id, if it is not already in the set */
+    void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        if (size == 0 || ids[size - 1] < id) {
+            ids[size] = id;
+            size++;
+            return;
+        }
+        final int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        final int insertionIndex = -index - 1;
+        System.arraycopy(ids, insertionIndex, ids, insertionIndex + 1, size - insertionIndex);
+        ids[insertionIndex] = id;
+        size++;
+    }
+
+    /** Removes the id, if it is in the set */
+    void remove(long id) {
+        final int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Returns the ids in increasing order */
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the given ids that are also in this set, in increasing order.
+     *
+     * @param sortedIds Ids in increasing order
+     */
+    long[] retainIn(long[] sortedIds) {
+        final long[] retainedIds = new long[Math.min(sortedIds.length, size)];
+        int numRetainedIds = 0;
+        for (long id : sortedIds) {
+            if (numRetainedIds < retainedIds.length && contains(id)) {
+                retainedIds[numRetainedIds] = id;
+                numRetainedIds++;
+            }
+        }
+        return Arrays.copyOf(retainedIds, numRetainedIds);
+    }
+}
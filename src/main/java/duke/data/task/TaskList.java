@@ -5,15 +5,55 @@ import duke.logic.exceptions.TaskListEmptyException;
 import duke.logic.exceptions.TaskNumOutOfBoundsException;
 import duke.ui.Ui;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Represents the list of tasks and contains methods for actions that can be done on the list.
  */
 public class TaskList {
-    private final ArrayList<Task> internalTasks = new ArrayList<>();
+    /** Checking candidates from an index is slower per task than a scan, so it is only worth it for a few of them */
+    private static final int MAX_CANDIDATES_DIVISOR = 16;
+    /**
+     * Number of tasks below which handing out the parts of a scan to other threads is taken to cost more than it saves.
+     * This is a guess that has only been timed on a single core, where a parallel scan cannot be faster, so it can be
+     * changed with {@link #setMinTasksToScanInParallel(long)}.
+     */
+    public static final long DEFAULT_MIN_TASKS_TO_SCAN_IN_PARALLEL = 20_000;
+    private static final int MAX_LENGTH_OF_EXACT_WORD = 2;
+    private static final int MAX_LENGTH_OF_WORD_WITH_ONE_TYPO = 4;
+    /** Fraction of a columnar store's description space held by deleted tasks from which bulk deletes compact it */
+    private static final double MIN_GARBAGE_FRACTION_TO_COMPACT_AFTER_DELETE = 0.25;
+
+    private List<Task> internalTasks = new ArrayList<>();
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    /** Id to give the next task added to the list; ids only increase, so tasks stay sorted by id */
+    private long nextTaskId;
+    /** Index of the trigrams in task descriptions, built on the first search so that loading the list stays fast */
+    private TaskTrigramIndex trigramIndex;
+    /** Tree of the words in task descriptions for fuzzy search, also built on the first such search */
+    private TaskWordBkTree wordBkTree;
+    /** Index of the dates of Deadlines and Events, built on the first search by date */
+    private TaskDateIndex dateIndex;
+    /** Number of changes made to the list, which identifies the version of the list that a search result is for */
+    private long version;
+    private SearchResultCache searchResultCache;
+    /**
+     * Pool letting tasks with equal descriptions share one String, or null if the store does not keep the Tasks
+     * themselves, i.e. it keeps their descriptions in some other form or decodes them on demand, or if the pool was
+     * dropped as the descriptions were too seldom equal for it to save memory
+     */
+    private DescriptionPool descriptionPool = new DescriptionPool();
+    private long minTasksToScanInParallel = DEFAULT_MIN_TASKS_TO_SCAN_IN_PARALLEL;
 
     /**
      * Constructs empty list
@@ -25,9 +65,62 @@ public class TaskList {
      * Constructs task list from list of Tasks (from storage)
      */
     public TaskList(List<Task> tasks) {
+       for (Task task : tasks) {
+           task.setId(nextTaskId++);
+           if (descriptionPool != null) {
+               poolDescription(task);
+           }
+       }
        internalTasks.addAll(tasks);
     }
 
+    /**
+     * Constructs task list that keeps its tasks directly in the given list instead of copying them, e.g. a store that
+     * only decodes tasks from storage when they are accessed.
+     * The store must write back changes to a task, like marking it as done, when the task is set at its own index.
+     * It must also give its tasks ids that increase in list order, and are all less than the given first free id.
+     *
+     * @param store List to keep the tasks in
+     * @param firstFreeId Id from which the TaskList gives ids to tasks added later
+     */
+    public static TaskList backedBy(List<Task> store, long firstFreeId) {
+        final TaskList tasks = new TaskList();
+        tasks.internalTasks = store;
+        tasks.nextTaskId = firstFreeId;
+        tasks.descriptionPool = null;
+        return tasks;
+    }
+
+    /**
+     * Moves all tasks into the given empty store, which is used to keep the tasks from then on.
+     * Task ids and listeners are kept, so the move is not visible to the rest of the application.
+     *
+     * @param store Empty list to keep the tasks in, e.g. a {@link TreeTaskStore} for delete-heavy workloads
+     */
+    public void moveTasksTo(List<Task> store) {
+        store.addAll(internalTasks);
+        internalTasks = store;
+        if (store instanceof ColumnarTaskStore) {
+            //Descriptions are kept as bytes, so the pooled Strings would only be extra copies
+            descriptionPool = null;
+        }
+    }
+
+    /**
+     * Sets the number of tasks from which searches that check every task split the list between the threads of the
+     * common fork-join pool, e.g. 0 to always split it, or Long.MAX_VALUE to never split it.
+     */
+    public void setMinTasksToScanInParallel(long minTasksToScanInParallel) {
+        this.minTasksToScanInParallel = minTasksToScanInParallel;
+    }
+
+    /**
+     * Registers a listener to be notified of every subsequent modification to the list
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Converts task number to index number (difference is a result of 0-base vs 1-base)
      */
@@ -39,15 +132,78 @@ public class TaskList {
      * Gets task number of task (difference from index is a result of 0-base vs 1-base)
      */
     public int getTaskNum(Task task) {
-        return internalTasks.indexOf(task) + 1;
+        if (task.getId() == Task.UNASSIGNED_ID) {
+            return internalTasks.indexOf(task) + 1;
+        }
+        return getIndexOfId(task.getId()) + 1;
     }
 
+    /**
+     * Returns the index of the task with the given id, or -1 if there is no such task.
+     */
+    private int getIndexOfId(long id) {
+        final int index = binarySearchId(id);
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Returns the index of the first task with a larger id than the given one, or the number of tasks if there is
+     * none, e.g. to carry on going through the list from a task that may have been deleted since.
+     */
+    public int getIndexAfterId(long id) {
+        final int index = binarySearchId(id);
+        return (index >= 0) ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Searches for the task with the given id like {@link IdSearchableStore#binarySearchId(long)}.
+     * Tasks are kept in the order they were added, so this is a binary search by id, which stores that do not keep
+     * the Tasks themselves do without making any task.
+     */
+    private int binarySearchId(long id) {
+        if (internalTasks instanceof IdSearchableStore) {
+            return ((IdSearchableStore) internalTasks).binarySearchId(id);
+        }
+        int low = 0;
+        int high = internalTasks.size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midId = internalTasks.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Gives the task the description in the pool equal to its own, then drops the pool if it has turned out to cost
+     * more memory than it saves. Descriptions shared so far stay shared.
+     */
+    private void poolDescription(Task task) {
+        task.description = descriptionPool.acquire(task.description);
+        if (!descriptionPool.isWorthKeeping()) {
+            descriptionPool = null;
+        }
+    }
 
     /**
      * Adds task to list
      */
     public void addTask(Task task) {
+      task.setId(nextTaskId++);
+      if (descriptionPool != null) {
+          poolDescription(task);
+      }
       internalTasks.add(task);
+      version++;
+      for (TaskListListener listener : listeners) {
+          listener.onTaskAdded(task);
+      }
     }
 
     /**
@@ -61,14 +217,69 @@ public class TaskList {
             throw new TaskListEmptyException();
         }
 
+        final Task deletedTask;
         try {
-            internalTasks.remove(convertToIndexNum(taskNum));
+            deletedTask = internalTasks.remove(convertToIndexNum(taskNum));
         } catch (IndexOutOfBoundsException e) {
             throw new TaskNumOutOfBoundsException();
         }
+        if (descriptionPool != null) {
+            descriptionPool.release(deletedTask.description);
+        }
+        version++;
+        for (TaskListListener listener : listeners) {
+            listener.onTaskDeleted(taskNum, deletedTask);
+        }
 
     }
 
+    /**
+     * Deletes the tasks at the given task numbers, removing them all in one pass over the list instead of moving the
+     * tasks after each deleted task once per deletion (in stores with fast random access; other stores remove them one
+     * by one, which is already fast for them).
+     * Listeners are notified of the deletions from the last task to the first, so that the task number given with
+     * each deletion is the one the task had just before it, as if the tasks had been deleted one at a time.
+     *
+     * @param taskNums Task numbers from 1 to the number of tasks, without duplicates, in increasing order
+     * @return Deleted tasks, in the order of the list
+     */
+    public List<Task> deleteTasks(int[] taskNums) {
+        final List<Task> deletedTasks = new ArrayList<>(taskNums.length);
+        final long[] deletedIds = new long[taskNums.length];
+        for (int i = 0; i < taskNums.length; i++) {
+            final Task task = internalTasks.get(convertToIndexNum(taskNums[i]));
+            deletedTasks.add(task);
+            deletedIds[i] = task.getId();
+        }
+
+        //Ids increase in list order, so they are already sorted for the binary search
+        if (internalTasks instanceof ColumnarTaskStore) {
+            final ColumnarTaskStore store = (ColumnarTaskStore) internalTasks;
+            store.removeIds(deletedIds);
+            //Sooner than the store's own threshold of half, but not after every delete, as compacting copies every
+            //description left
+            store.compactIfGarbageOfAtLeast(MIN_GARBAGE_FRACTION_TO_COMPACT_AFTER_DELETE);
+        } else if (internalTasks instanceof RandomAccess) {
+            internalTasks.removeIf(task -> Arrays.binarySearch(deletedIds, task.getId()) >= 0);
+        } else {
+            for (int i = taskNums.length - 1; i >= 0; i--) {
+                internalTasks.remove(convertToIndexNum(taskNums[i]));
+            }
+        }
+
+        for (int i = taskNums.length - 1; i >= 0; i--) {
+            final Task deletedTask = deletedTasks.get(i);
+            if (descriptionPool != null) {
+                descriptionPool.release(deletedTask.description);
+            }
+            version++;
+            for (TaskListListener listener : listeners) {
+                listener.onTaskDeleted(taskNums[i], deletedTask);
+            }
+        }
+        return deletedTasks;
+    }
+
     /**
      * Marks task as done, given the task number
      *
@@ -82,15 +293,23 @@ public class TaskList {
             throw new TaskListEmptyException();
         }
 
+        final Task doneTask;
         try {
-            internalTasks.get(convertToIndexNum(taskNum)).markAsDone();
+            doneTask = internalTasks.get(convertToIndexNum(taskNum));
         } catch (IndexOutOfBoundsException e) {
             throw new TaskNumOutOfBoundsException();
         }
+        doneTask.markAsDone();
+        //Setting the task back lets stores that decode tasks on demand keep the change
+        internalTasks.set(convertToIndexNum(taskNum), doneTask);
+        version++;
+        for (TaskListListener listener : listeners) {
+            listener.onTaskMarkedAsDone(taskNum, doneTask);
+        }
     }
 
-    /** Returns the ArrayList of tasks*/
-    public ArrayList<Task> getTasks() {
+    /** Returns the List of tasks*/
+    public List<Task> getTasks() {
         return this.internalTasks;
     }
 
@@ -113,6 +332,31 @@ public class TaskList {
         }
     }
 
+    /** Returns the number of changes made to the list, which increases with every task added, deleted or done */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /** Returns the number of searches answered from the search result cache */
+    public long getNumSearchCacheHits() {
+        return (searchResultCache == null) ? 0 : searchResultCache.getNumHits();
+    }
+
+    /** Returns the number of searches that could not be answered from the search result cache */
+    public long getNumSearchCacheMisses() {
+        return (searchResultCache == null) ? 0 : searchResultCache.getNumMisses();
+    }
+
+    /** Returns the number of tasks sharing their description with another task, i.e. the copies avoided */
+    public long getNumSharedDescriptions() {
+        return (descriptionPool == null) ? 0 : descriptionPool.getNumSharedReferences();
+    }
+
+    /** Returns an estimate of the memory saved by tasks sharing equal descriptions, in bytes */
+    public long getNumBytesSavedBySharedDescriptions() {
+        return (descriptionPool == null) ? 0 : descriptionPool.getNumBytesSaved();
+    }
+
     /** Returns size of tasks */
     public int getNumTasks() {
         return this.internalTasks.size();
@@ -125,11 +369,48 @@ public class TaskList {
 
     /** Returns all the tasks in string form */
     public String getStringOfAllTasks() {
-        String stringOfAllTasks = Ui.EMPTY;
+        final StringBuilder stringOfAllTasks = new StringBuilder();
+        int taskNum = 1;
         for (Task task : internalTasks) {
-            stringOfAllTasks = stringOfAllTasks + getTaskNum(task) + "." + task.toString() + Ui.LS;
+            stringOfAllTasks.append(taskNum).append('.').append(task.toString()).append(Ui.LS);
+            taskNum++;
+        }
+        return stringOfAllTasks.toString().trim();
+    }
+
+    /**
+     * Writes the tasks from fromTaskNum to toTaskNum (both inclusive) to the given output, one task per line, in the
+     * same form as {@link #getStringOfAllTasks()}, without first building the whole list in memory.
+     * Like that method, trailing whitespace of the last line is left out.
+     *
+     * @param out Output to write the tasks to
+     * @param fromTaskNum Task number of the first task to write
+     * @param toTaskNum Task number of the last task to write
+     * @throws IOException If the output could not be written to
+     */
+    public void writeTasks(Appendable out, int fromTaskNum, int toTaskNum) throws IOException {
+        final List<Task> tasksToWrite = (fromTaskNum == 1 && toTaskNum == internalTasks.size())
+                ? internalTasks
+                : internalTasks.subList(convertToIndexNum(fromTaskNum), toTaskNum);
+        int taskNum = fromTaskNum;
+        for (Task task : tasksToWrite) {
+            out.append(Integer.toString(taskNum)).append('.');
+            if (taskNum == toTaskNum) {
+                out.append(stripTrailingWhitespace(task.toString()));
+            } else {
+                out.append(task.toString()).append(Ui.LS);
+            }
+            taskNum++;
+        }
+    }
+
+    /** Removes trailing whitespace in the same way as {@link String#trim()} */
+    private static String stripTrailingWhitespace(String string) {
+        int end = string.length();
+        while (end > 0 && string.charAt(end - 1) <= ' ') {
+            end--;
         }
-        return stringOfAllTasks.trim();
+        return string.substring(0, end);
     }
 
     /**
@@ -137,22 +418,156 @@ public class TaskList {
      * @param listOfTasks List of tasks that is a subset of the internalTasks list
      */
     public String getStringOfTasksInList(List<Task> listOfTasks) {
-        String stringOfAllTasks = Ui.EMPTY;
+        final StringBuilder stringOfAllTasks = new StringBuilder();
         for (Task task : listOfTasks) {
-            stringOfAllTasks = stringOfAllTasks + getTaskNum(task) + "." + task.toString() + Ui.LS;
+            stringOfAllTasks.append(getTaskNum(task)).append('.').append(task.toString()).append(Ui.LS);
         }
-        return stringOfAllTasks.trim();
+        return stringOfAllTasks.toString().trim();
     }
 
-    /** Returns list of tasks that match search term */
+    /**
+     * Returns list of tasks that match search term, i.e. whose description contains the term, ignoring case.
+     * Recent results are cached until a change to the list affects them.
+     */
     public List<Task> getListOfTasksWithMatchingTerm(String searchTerm) {
-        final String lowerCaseSearchTerm = searchTerm.toLowerCase();
-        return internalTasks.stream().filter(task -> task.description.toLowerCase().contains(lowerCaseSearchTerm)).collect(Collectors.toList());
+        return Collections.unmodifiableList(getSearchResult(searchTerm.toLowerCase()).getMatchingTasks());
     }
 
     /** Returns list of tasks that match search term in string form */
     public String getStringOfTasksWithMatchingTerm(String searchTerm) {
-        List<Task> listOfTasks = getListOfTasksWithMatchingTerm(searchTerm);
-        return getStringOfTasksInList(listOfTasks);
+        final SearchResultCache.Result result = getSearchResult(searchTerm.toLowerCase());
+        if (result.getStringOfMatchingTasks() == null) {
+            result.setStringOfMatchingTasks(getStringOfTasksInList(result.getMatchingTasks()));
+        }
+        return result.getStringOfMatchingTasks();
+    }
+
+    private SearchResultCache.Result getSearchResult(String lowerCaseSearchTerm) {
+        if (searchResultCache == null) {
+            searchResultCache = new SearchResultCache(version);
+            addListener(searchResultCache);
+        }
+        final SearchResultCache.Result cachedResult = searchResultCache.get(lowerCaseSearchTerm, version);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        return searchResultCache.put(lowerCaseSearchTerm, findTasksWithMatchingTerm(lowerCaseSearchTerm), version);
+    }
+
+    /**
+     * Returns list of tasks whose description contains the search term.
+     * Only the tasks that the trigram index finds could match are checked, unless the term is too short to have a
+     * trigram or the index cannot rule out most tasks.
+     */
+    private List<Task> findTasksWithMatchingTerm(String lowerCaseSearchTerm) {
+        final long[] candidateIds = (lowerCaseSearchTerm.length() < TaskTrigramIndex.TRIGRAM_LENGTH)
+                ? null
+                : getTrigramIndex().findCandidateIds(lowerCaseSearchTerm);
+        if (candidateIds == null || candidateIds.length > internalTasks.size() / MAX_CANDIDATES_DIVISOR) {
+            return getStreamOfTasksToScan()
+                    .filter(task -> task.description.toLowerCase().contains(lowerCaseSearchTerm))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+
+        final List<Task> matchingTasks = new ArrayList<>();
+        for (long id : candidateIds) {
+            final Task task = internalTasks.get(getIndexOfId(id));
+            if (task.description.toLowerCase().contains(lowerCaseSearchTerm)) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Returns a stream of all tasks, which is parallel if the list is large enough and there is more than one thread
+     * to scan it. The parallel stream splits the list into parts that are checked on the common fork-join pool, and
+     * still collects the tasks in list order.
+     * Only stores with fast random access are scanned in parallel, as stores that decode tasks on access (or
+     * walk a tree to find them) are neither cheap to split nor safe to read from several threads.
+     */
+    private Stream<Task> getStreamOfTasksToScan() {
+        final boolean isWorthScanningInParallel = internalTasks.size() >= minTasksToScanInParallel
+                && internalTasks instanceof RandomAccess
+                && ForkJoinPool.getCommonPoolParallelism() > 1;
+        return isWorthScanningInParallel ? internalTasks.parallelStream() : internalTasks.stream();
+    }
+
+    /**
+     * Returns list of tasks whose description has a word similar to each word of the search term, allowing for typos.
+     * Tasks are ranked by the total edit distance between the words of the term and their closest words in the task,
+     * with ties in list order.
+     *
+     * @param searchTerm Search term, possibly misspelt
+     * @return Tasks with similar words, closest first
+     */
+    public List<Task> getListOfTasksWithSimilarTerm(String searchTerm) {
+        if (wordBkTree == null) {
+            wordBkTree = new TaskWordBkTree(internalTasks);
+            addListener(wordBkTree);
+        }
+
+        Map<Long, Integer> totalDistancesById = null;
+        for (String searchWord : TaskWordBkTree.getWords(searchTerm)) {
+            final Map<Long, Integer> distancesById =
+                    wordBkTree.findTaskIdsWithSimilarWord(searchWord, getMaxEditDistance(searchWord));
+            if (totalDistancesById == null) {
+                totalDistancesById = distancesById;
+                continue;
+            }
+            //A task has to have a similar word for every word of the term
+            totalDistancesById.keySet().retainAll(distancesById.keySet());
+            for (Map.Entry<Long, Integer> entry : totalDistancesById.entrySet()) {
+                entry.setValue(entry.getValue() + distancesById.get(entry.getKey()));
+            }
+        }
+        if (totalDistancesById == null) {
+            return new ArrayList<>();
+        }
+
+        final List<Map.Entry<Long, Integer>> rankedEntries = new ArrayList<>(totalDistancesById.entrySet());
+        rankedEntries.sort(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        final List<Task> similarTasks = new ArrayList<>(rankedEntries.size());
+        for (Map.Entry<Long, Integer> entry : rankedEntries) {
+            similarTasks.add(internalTasks.get(getIndexOfId(entry.getKey())));
+        }
+        return similarTasks;
+    }
+
+    /**
+     * Returns list of Deadlines and Events with a date and time from the start to the end (both inclusive),
+     * earliest first, with ties in list order.
+     *
+     * @param start Earliest date and time to include
+     * @param end Latest date and time to include
+     * @return Tasks within the dates
+     */
+    public List<Task> getListOfTasksWithinDates(LocalDateTime start, LocalDateTime end) {
+        if (dateIndex == null) {
+            dateIndex = new TaskDateIndex(internalTasks);
+            addListener(dateIndex);
+        }
+
+        final List<Task> tasksWithinDates = new ArrayList<>();
+        for (long id : dateIndex.findIdsWithinDates(start, end)) {
+            tasksWithinDates.add(internalTasks.get(getIndexOfId(id)));
+        }
+        return tasksWithinDates;
+    }
+
+    /** Returns the number of typos allowed in a search word, which is more for longer words */
+    private static int getMaxEditDistance(String searchWord) {
+        if (searchWord.length() <= MAX_LENGTH_OF_EXACT_WORD) {
+            return 0;
+        }
+        return (searchWord.length() <= MAX_LENGTH_OF_WORD_WITH_ONE_TYPO) ? 1 : 2;
+    }
+
+    private TaskTrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            trigramIndex = new TaskTrigramIndex(internalTasks);
+            addListener(trigramIndex);
+        }
+        return trigramIndex;
     }
 }
@@ -0,0 +1,31 @@
+package duke.data.task;
+
+/**
+ * Represents a component that needs to be notified whenever the TaskList is modified,
+ * e.g. the storage journal which records every change made to the list.
+ */
+public interface TaskListListener {
+
+    /**
+     * Called after a task has been added to the end of the list.
+     *
+     * @param task Task that was added
+     */
+    void onTaskAdded(Task task);
+
+    /**
+     * Called after a task has been deleted from the list.
+     *
+     * @param taskNum Task number the task had before it was deleted
+     * @param task Task that was deleted
+     */
+    void onTaskDeleted(int taskNum, Task task);
+
+    /**
+     * Called after a task in the list has been marked as done.
+     *
+     * @param taskNum Task number of the task
+     * @param task Task that was marked as done
+     */
+    void onTaskMarkedAsDone(int taskNum, Task task);
+}
@@ -0,0 +1,104 @@
+package duke.data.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from each trigram (run of three characters) of the lowercased task descriptions to the ids of the
+ * tasks containing it. The index is kept up to date by listening to the TaskList, so it is never rebuilt after it is
+ * first created.
+ *
+ * A description can only contain a search term if it contains every trigram of the term, so intersecting the tasks
+ * of those trigrams gives a small set of candidates, which are then checked with the same "contains" test as a full
+ * scan. Search results are thus exactly those of checking every task, including matches in the middle of a word.
+ */
+class TaskTrigramIndex implements TaskListListener {
+    /** Length of the shortest search term the index can narrow down */
+    static final int TRIGRAM_LENGTH = 3;
+    private static final int BITS_PER_CHAR = 16;
+
+    private final Map<Long, TaskIdPostings> postingsByTrigram = new HashMap<>();
+
+    /**
+     * Constructs the index of all the given tasks, which must already have their ids.
+     */
+    TaskTrigramIndex(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            addTask(task);
+        }
+    }
+
+    /** Packs the three characters starting at the given index into one key */
+    private static long getTrigram(String string, int index) {
+        return ((long) string.charAt(index) << (2 * BITS_PER_CHAR))
+                | ((long) string.charAt(index + 1) << BITS_PER_CHAR)
+                | string.charAt(index + 2);
+    }
+
+    private void addTask(Task task) {
+        final String description = task.description.toLowerCase();
+        for (int i = 0; i + TRIGRAM_LENGTH <= description.length(); i++) {
+            postingsByTrigram.computeIfAbsent(getTrigram(description, i), key -> new TaskIdPostings())
+                    .add(task.getId());
+        }
+    }
+
+    private void removeTask(Task task) {
+        final String description = task.description.toLowerCase();
+        for (int i = 0; i + TRIGRAM_LENGTH <= description.length(); i++) {
+            final long trigram = getTrigram(description, i);
+            final TaskIdPostings postings = postingsByTrigram.get(trigram);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(task.getId());
+            if (postings.isEmpty()) {
+                postingsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        addTask(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        removeTask(task);
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        //Marking a task as done does not change its description
+    }
+
+    /**
+     * Returns the ids of the tasks whose description may contain the search term, in increasing order.
+     * Every task whose description does contain the term is included, but some of the others may be too.
+     *
+     * @param lowerCaseSearchTerm Search term in lower case, at least {@link #TRIGRAM_LENGTH} characters long
+     * @return Ids of candidate tasks
+     */
+    long[] findCandidateIds(String lowerCaseSearchTerm) {
+        final List<TaskIdPostings> postingsOfTerm = new ArrayList<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= lowerCaseSearchTerm.length(); i++) {
+            final TaskIdPostings postings = postingsByTrigram.get(getTrigram(lowerCaseSearchTerm, i));
+            if (postings == null) {
+                return new long[0];
+            }
+            postingsOfTerm.add(postings);
+        }
+
+        //Starting from the rarest trigram keeps the candidates, and so the cost of each intersection, small
+        postingsOfTerm.sort(Comparator.comparingInt(TaskIdPostings::size));
+        long[] candidateIds = postingsOfTerm.get(0).toArray();
+        for (int i = 1; i < postingsOfTerm.size() && candidateIds.length > 0; i++) {
+            candidateIds = postingsOfTerm.get(i).retainIn(candidateIds);
+        }
+        return candidateIds;
+    }
+}
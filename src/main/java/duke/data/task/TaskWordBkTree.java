@@ -0,0 +1,174 @@
+package duke.data.task;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BK-tree of the distinct lowercased words in task descriptions, used to find the words within a small edit
+ * (Levenshtein) distance of a possibly misspelt search word. Each child of a node holds the words at one distance from
+ * the node's word, so by the triangle inequality a search only has to visit the children whose distance is within
+ * the allowed distance of the search word's distance to the node, rather than every word.
+ *
+ * Each word keeps the ids of the tasks using it, and the tree is kept up to date by listening to the TaskList.
+ * Words that are no longer used by any task stay in the tree, since removing a node would mean rebuilding the
+ * subtree below it, but they are no longer found.
+ */
+class TaskWordBkTree implements TaskListListener {
+    private static final String WORD_SEPARATOR = " ";
+
+    /** Node holding one word */
+    private static class Node {
+        private final String word;
+        private final TaskIdPostings taskIds = new TaskIdPostings();
+        private final Map<Integer, Node> childrenByDistance = new HashMap<>();
+        private int maxChildDistance;
+
+        private Node(String word) {
+            this.word = word;
+        }
+    }
+
+    private Node root;
+    private final Map<String, Node> nodesByWord = new HashMap<>();
+
+    /**
+     * Constructs the tree of the words of all the given tasks, which must already have their ids.
+     */
+    TaskWordBkTree(Iterable<Task> tasks) {
+        for (Task task : tasks) {
+            addTask(task);
+        }
+    }
+
+    /** Returns the non-empty lowercased words of the given text. A word may appear more than once. */
+    static String[] getWords(String text) {
+        return text.toLowerCase().trim().split(WORD_SEPARATOR + "+");
+    }
+
+    private void addTask(Task task) {
+        for (String word : getWords(task.description)) {
+            if (!word.isEmpty()) {
+                getOrInsertNode(word).taskIds.add(task.getId());
+            }
+        }
+    }
+
+    private void removeTask(Task task) {
+        for (String word : getWords(task.description)) {
+            final Node node = nodesByWord.get(word);
+            if (node != null) {
+                node.taskIds.remove(task.getId());
+            }
+        }
+    }
+
+    private Node getOrInsertNode(String word) {
+        final Node existingNode = nodesByWord.get(word);
+        if (existingNode != null) {
+            return existingNode;
+        }
+
+        final Node newNode = new Node(word);
+        nodesByWord.put(word, newNode);
+        if (root == null) {
+            root = newNode;
+            return newNode;
+        }
+        Node node = root;
+        while (true) {
+            final int distance = getEditDistance(word, node.word, Integer.MAX_VALUE);
+            final Node child = node.childrenByDistance.get(distance);
+            if (child == null) {
+                node.childrenByDistance.put(distance, newNode);
+                node.maxChildDistance = Math.max(node.maxChildDistance, distance);
+                return newNode;
+            }
+            node = child;
+        }
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        addTask(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        removeTask(task);
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        //Marking a task as done does not change its description
+    }
+
+    /**
+     * Returns the ids of the tasks using any word within the given edit distance of the search word, each mapped to
+     * the smallest edit distance between the search word and a word of that task.
+     *
+     * @param searchWord Lowercased search word
+     * @param maxDistance Largest edit distance a word may have from the search word
+     */
+    Map<Long, Integer> findTaskIdsWithSimilarWord(String searchWord, int maxDistance) {
+        final Map<Long, Integer> distancesById = new HashMap<>();
+        if (root == null) {
+            return distancesById;
+        }
+
+        final Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            final Node node = nodesToVisit.pop();
+            //Once the distance is known to be above this limit, the node and all its children are too far away
+            final int distance = getEditDistance(searchWord, node.word, maxDistance + node.maxChildDistance);
+            if (distance <= maxDistance) {
+                for (long id : node.taskIds.toArray()) {
+                    distancesById.merge(id, distance, Math::min);
+                }
+            }
+            for (Map.Entry<Integer, Node> child : node.childrenByDistance.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    nodesToVisit.push(child.getValue());
+                }
+            }
+        }
+        return distancesById;
+    }
+
+    /**
+     * Returns the Levenshtein distance between the two words, i.e. the smallest number of characters to insert,
+     * delete or substitute to turn one into the other, or any value above the limit once the distance is known to be
+     * above the limit.
+     */
+    static int getEditDistance(String first, String second, int limit) {
+        final int lengthDifference = Math.abs(first.length() - second.length());
+        if (lengthDifference > limit) {
+            return lengthDifference;
+        }
+
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            int smallestInRow = currentRow[0];
+            for (int j = 1; j <= second.length(); j++) {
+                final int substitutionCost = (first.charAt(i - 1) == second.charAt(j - 1)) ? 0 : 1;
+                currentRow[j] = Math.min(Math.min(currentRow[j - 1] + 1, previousRow[j] + 1),
+                        previousRow[j - 1] + substitutionCost);
+                smallestInRow = Math.min(smallestInRow, currentRow[j]);
+            }
+            if (smallestInRow > limit) {
+                return smallestInRow;
+            }
+            final int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[second.length()];
+    }
+}
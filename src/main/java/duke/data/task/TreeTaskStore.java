@@ -0,0 +1,218 @@
+package duke.data.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Store of tasks kept in an implicit treap, a balanced binary tree ordered by position in which each node knows the
+ * size of its subtree. Getting, inserting and deleting a task by position all take O(log n) time, unlike an ArrayList
+ * which has to shift every later task when one is deleted.
+ */
+public class TreeTaskStore extends AbstractList<Task> implements IdSearchableStore {
+
+    /** Node of the treap. Nodes with higher priority are closer to the root. */
+    private static class Node {
+        private Task task;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+
+    /** Constructs empty store */
+    public TreeTaskStore() {
+    }
+
+    private static int sizeOf(Node node) {
+        return (node == null) ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = sizeOf(node.left) + 1 + sizeOf(node.right);
+        return node;
+    }
+
+    /** Merges two treaps where every node of the left treap comes before every node of the right treap */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority >= right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        } else {
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+    }
+
+    /**
+     * Splits the treap into the first numNodes nodes and the rest.
+     *
+     * @return Array of [first numNodes nodes, rest]
+     */
+    private static Node[] split(Node node, int numNodes) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (sizeOf(node.left) >= numNodes) {
+            final Node[] parts = split(node.left, numNodes);
+            node.left = parts[1];
+            return new Node[] {parts[0], update(node)};
+        } else {
+            final Node[] parts = split(node.right, numNodes - sizeOf(node.left) - 1);
+            node.right = parts[0];
+            return new Node[] {update(node), parts[1]};
+        }
+    }
+
+    /**
+     * Removes the node at the given position of the treap by merging its children in its place, without splitting
+     * the treap.
+     *
+     * @return Root of the treap without the node
+     */
+    private static Node removeAt(Node node, int index) {
+        final int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = removeAt(node.left, index);
+        } else if (index > leftSize) {
+            node.right = removeAt(node.right, index - leftSize - 1);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.size--;
+        return node;
+    }
+
+    private Node nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        Node node = root;
+        while (true) {
+            final int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Searches for the task with the given id in one walk down the tree, which works as the ids of the tasks only
+     * increase in list order, so every task to the left of a node has a smaller id and every task to the right a larger
+     * one.
+     */
+    @Override
+    public int binarySearchId(long id) {
+        Node node = root;
+        int numTasksBefore = 0;
+        while (node != null) {
+            final long nodeId = node.task.getId();
+            if (nodeId < id) {
+                numTasksBefore += sizeOf(node.left) + 1;
+                node = node.right;
+            } else if (nodeId > id) {
+                node = node.left;
+            } else {
+                return numTasksBefore + sizeOf(node.left);
+            }
+        }
+        return -numTasksBefore - 1;
+    }
+
+    @Override
+    public Task get(int index) {
+        return nodeAt(index).task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        final Node node = nodeAt(index);
+        final Task previousTask = node.task;
+        node.task = task;
+        return previousTask;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        final Node[] parts = split(root, index);
+        root = merge(merge(parts[0], new Node(task, random.nextInt())), parts[1]);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        final Task removedTask = nodeAt(index).task;
+        root = removeAt(root, index);
+        modCount++;
+        return removedTask;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /** Returns an iterator that walks the tree in order, taking O(n) time in total instead of O(n log n) */
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private final Deque<Node> path = new ArrayDeque<>();
+            private final int expectedModCount = modCount;
+            private Node next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                final Node node = path.pop();
+                next = node.right;
+                return node.task;
+            }
+        };
+    }
+}
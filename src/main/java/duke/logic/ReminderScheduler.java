@@ -0,0 +1,204 @@
+package duke.logic;
+
+import duke.data.task.Deadline;
+import duke.data.task.Task;
+import duke.data.task.TaskList;
+import duke.data.task.TaskListListener;
+import duke.ui.Ui;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Reminds the user of Deadlines that are due soon and Events that start soon, from a background thread.
+ * Reminders are kept in a priority queue ordered by the time they are due, so the thread only ever waits for the
+ * earliest one instead of checking every task on a timer. The queue is kept up to date by listening to the TaskList:
+ * adding a task schedules its reminder, while deleting it or marking it as done cancels the reminder.
+ * The tasks already in the list are scheduled by the background thread once it starts, so that starting does not
+ * wait for every task to be looked at, nor decode every task of a list that is only decoded when accessed.
+ */
+public class ReminderScheduler implements TaskListListener {
+    /** Number of tasks looked at each time the lock of the TaskList is taken, so that commands are not held up */
+    private static final int TASKS_PER_SCAN_STEP = 1024;
+    private static final String MESSAGE_DEADLINE_DUE_SOON = "Reminder! This deadline is due soon:" + Ui.LS + "%s";
+    private static final String MESSAGE_EVENT_STARTING_SOON = "Reminder! This event is starting soon:" + Ui.LS + "%s";
+
+    /** Reminder of one task */
+    private static class Reminder {
+        private final Task task;
+        private final LocalDateTime remindAt;
+
+        private Reminder(Task task, LocalDateTime remindAt) {
+            this.task = task;
+            this.remindAt = remindAt;
+        }
+    }
+
+    private final TaskList tasks;
+    private final Duration leadTime;
+    private final PriorityQueue<Reminder> reminders =
+            new PriorityQueue<>(Comparator.comparing((Reminder reminder) -> reminder.remindAt));
+    /**
+     * Pending reminder of each task by task id. Cancelled reminders are only removed from this map, as removing them
+     * from the queue takes linear time; they are skipped when they reach the head of the queue.
+     */
+    private final Map<Long, Reminder> remindersByTaskId = new HashMap<>();
+    private boolean isStopped;
+    private Thread reminderThread;
+
+    /**
+     * Constructs the scheduler, which schedules reminders for the tasks in the list that are not done and not yet due
+     * once it is started.
+     * To be registered as a listener of the same TaskList, while holding its lock, so that no change is missed.
+     *
+     * @param tasks TaskList to remind the user of
+     * @param leadTime How long before a task is due to remind the user
+     */
+    public ReminderScheduler(TaskList tasks, Duration leadTime) {
+        this.tasks = tasks;
+        this.leadTime = leadTime;
+    }
+
+    /**
+     * Schedules a reminder for the task, if it has a date and time that has not passed and it is not done.
+     * A task that is due within the lead time is reminded of immediately.
+     */
+    private synchronized void schedule(Task task) {
+        final LocalDateTime dateAndTime = task.getDateAndTime();
+        final LocalDateTime now = LocalDateTime.now();
+        if (dateAndTime == null || task.isDone() || !dateAndTime.isAfter(now)) {
+            return;
+        }
+
+        final LocalDateTime remindAt = dateAndTime.minus(leadTime);
+        final Reminder reminder = new Reminder(task, remindAt.isAfter(now) ? remindAt : now);
+        remindersByTaskId.put(task.getId(), reminder);
+        reminders.add(reminder);
+        //The thread may be waiting for a later reminder
+        notifyAll();
+    }
+
+    private synchronized void cancel(Task task) {
+        remindersByTaskId.remove(task.getId());
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        schedule(task);
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        cancel(task);
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        cancel(task);
+    }
+
+    /** Starts the background thread that shows the reminders when they are due */
+    public void start() {
+        reminderThread = new Thread(this::remindUntilStopped, "reminder-scheduler");
+        reminderThread.setDaemon(true);
+        reminderThread.start();
+    }
+
+    /** Stops the background thread. Reminders that are not yet due are not shown. */
+    public void stop() {
+        synchronized (this) {
+            isStopped = true;
+            notifyAll();
+        }
+        if (reminderThread != null) {
+            try {
+                reminderThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Loop of the background thread. Schedules the tasks already in the list, then waits for the earliest reminder to
+     * be due and shows it.
+     */
+    private void remindUntilStopped() {
+        scheduleExistingTasks();
+        Reminder reminder;
+        while ((reminder = waitForNextDueReminder()) != null) {
+            final String message = (reminder.task instanceof Deadline)
+                    ? MESSAGE_DEADLINE_DUE_SOON
+                    : MESSAGE_EVENT_STARTING_SOON;
+            Ui.showMessageFramedWithDivider(String.format(message, reminder.task));
+            //Shown straight away, as the user may be waiting at the prompt with no command to flush the output
+            Ui.flush();
+        }
+    }
+
+    /**
+     * Schedules the tasks in the list a few at a time, each time holding the lock of the TaskList.
+     * As the list may change in between, each step carries on from the first task with a larger id than the last
+     * task looked at, which is found by binary search as ids increase in list order. Tasks added in between are
+     * scheduled when they are added, so scheduling one again only replaces its reminder.
+     */
+    private void scheduleExistingTasks() {
+        long lastScannedId = Task.UNASSIGNED_ID;
+        boolean hasMoreTasks = true;
+        while (hasMoreTasks && !hasStopped()) {
+            synchronized (tasks) {
+                final List<Task> taskList = tasks.getTasks();
+                final int start = tasks.getIndexAfterId(lastScannedId);
+                final int end = Math.min(taskList.size(), start + TASKS_PER_SCAN_STEP);
+                for (int i = start; i < end; i++) {
+                    final Task task = taskList.get(i);
+                    schedule(task);
+                    lastScannedId = task.getId();
+                }
+                hasMoreTasks = end < taskList.size();
+            }
+        }
+    }
+
+    private synchronized boolean hasStopped() {
+        return isStopped;
+    }
+
+    /** Returns null if the scheduler has been stopped, otherwise waits until a reminder is due and returns it. */
+    private synchronized Reminder waitForNextDueReminder() {
+        while (!isStopped) {
+            final Reminder nextReminder = reminders.peek();
+            if (nextReminder == null) {
+                waitUnlessInterrupted(0);
+                continue;
+            }
+            if (remindersByTaskId.get(nextReminder.task.getId()) != nextReminder) {
+                reminders.poll();
+                continue;
+            }
+
+            final long millisUntilDue = Duration.between(LocalDateTime.now(), nextReminder.remindAt).toMillis();
+            if (millisUntilDue > 0) {
+                waitUnlessInterrupted(millisUntilDue);
+                continue;
+            }
+            reminders.poll();
+            remindersByTaskId.remove(nextReminder.task.getId());
+            return nextReminder;
+        }
+        return null;
+    }
+
+    private synchronized void waitUnlessInterrupted(long timeoutInMillis) {
+        try {
+            wait(timeoutInMillis);
+        } catch (InterruptedException e) {
+            isStopped = true;
+        }
+    }
+}
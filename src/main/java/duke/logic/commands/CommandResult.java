@@ -1,5 +1,9 @@
 package duke.logic.commands;
 
+import duke.ui.Ui;
+
+import java.io.IOException;
+
 /**
  *  Represents the result of the execution of commands. Contains a String of message that describes the result of the
  *  execution.
@@ -11,6 +15,17 @@ public class CommandResult {
         this.messageToBeShown = messageToBeShown;
     }
 
+    /**
+     * Writes the message to the given output, followed by a line separator.
+     * Results that are long, like a list of tasks, can override this to write the message piece by piece.
+     *
+     * @param out Output to write the message to
+     * @throws IOException If the output could not be written to
+     */
+    public void writeTo(Appendable out) throws IOException {
+        out.append(this.messageToBeShown).append(Ui.LS);
+    }
+
     @Override
     public String toString() {
         return this.messageToBeShown;
@@ -5,26 +5,41 @@ import duke.logic.exceptions.TaskNumOutOfBoundsException;
 import duke.ui.Ui;
 
 /**
- *  Represents the command that when executed, deletes the task at the given task number.
+ *  Represents the command that when executed, deletes the task at the given task number, or the tasks at the given
+ *  ranges of task numbers, e.g. "delete 1-500,812,900-950".
  */
 public class DeleteTaskCommand extends Command {
     public static final String COMMAND_WORD = "delete";
     public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X" + Ui.QUOTATION;
     public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT + " : Delete task number X";
+    public static final String MESSAGE_RANGES_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X-Y,Z" + Ui.QUOTATION;
+    public static final String MESSAGE_RANGES_DESCRIPTION = MESSAGE_RANGES_FORMAT + " : Delete task numbers X to Y and Z";
     public static final String MESSAGE_INVALID_FORMAT = "Invalid format! Please input a task number to be deleted, "
         + Ui.LS + "in the format " + MESSAGE_COMMAND_FORMAT + ", where X is the task number!";
     private static final String MESSAGE_SUCCESS = "Alrightys! I have removed the following task:" + Ui.LS + "%s"
             + Ui.LS + "Current number of tasks: %2$d";
+    private static final String MESSAGE_SUCCESS_MULTIPLE = "Alrightys! Tasks removed: %1$d"
+            + Ui.LS + "Current number of tasks: %2$d";
+    private static final String MESSAGE_SKIPPED_OUT_OF_BOUNDS = "Skipped %1$s (not a task number from 1 to %2$d)";
 
 
     private int taskNum;
+    /** Ranges of task numbers of the tasks to delete, or null if only one task number was given */
+    private TaskNumRanges taskNumRanges;
 
     public DeleteTaskCommand(int taskNum) {
         this.taskNum = taskNum;
     }
 
+    public DeleteTaskCommand(TaskNumRanges taskNumRanges) {
+        this.taskNumRanges = taskNumRanges;
+    }
+
     @Override
     public CommandResult execute() {
+        if (taskNumRanges != null) {
+            return deleteTasks();
+        }
         try {
             final String deletedTaskString = super.tasks.getTaskAtNum(this.taskNum).toString();
             super.tasks.deleteTask(this.taskNum);
@@ -35,4 +50,25 @@ public class DeleteTaskCommand extends Command {
             return new CommandResult(String.format(e.toString(), super.tasks.getNumTasks()));
         }
     }
+
+    /**
+     * Deletes the tasks in the ranges all at once, skipping the task numbers that are not in the list, and returns
+     * a single summary of the tasks deleted and the task numbers skipped.
+     */
+    private CommandResult deleteTasks() {
+        if (super.tasks.isEmpty()) {
+            return new CommandResult(new TaskListEmptyException().toString());
+        }
+
+        final int numTasks = super.tasks.getNumTasks();
+        final int[] taskNums = taskNumRanges.getTaskNumsWithin(numTasks);
+        super.tasks.deleteTasks(taskNums);
+
+        String summary = String.format(MESSAGE_SUCCESS_MULTIPLE, taskNums.length, super.tasks.getNumTasks());
+        final String outOfBoundsTaskNums = taskNumRanges.getStringOfTaskNumsOutside(numTasks);
+        if (!outOfBoundsTaskNums.isEmpty()) {
+            summary += Ui.LS + String.format(MESSAGE_SKIPPED_OUT_OF_BOUNDS, outOfBoundsTaskNums, numTasks);
+        }
+        return new CommandResult(summary);
+    }
 }
@@ -0,0 +1,50 @@
+package duke.logic.commands;
+
+import duke.data.task.Task;
+import duke.ui.Ui;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ *  Represents the command that when executed, returns a list of Deadlines and Events with a date and time within the
+ *  given range, earliest first
+ */
+public class DueTaskCommand extends Command {
+    public static final String COMMAND_WORD = "due";
+    public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + " " + Ui.DATE_TIME_FORMAT + " "
+            + Ui.DATE_TIME_FORMAT + Ui.QUOTATION;
+    public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT
+            + " : See deadlines and events between two dates and times";
+    public static final String MESSAGE_INVALID_FORMAT = "Invalid format! Please input the start and end of the dates, "
+            + Ui.LS + "in the format " + MESSAGE_COMMAND_FORMAT + "!";
+    public static final String MESSAGE_NO_TASKS_FOUND = "No deadlines or events on those dates! ^_^";
+    private static final String MESSAGE_START_AFTER_END = "The start of the dates cannot be after the end! @_@";
+    private static final String MESSAGE_INTRODUCE_TASKS = "Here are the deadlines and events on those dates:" + Ui.LS
+            + "%s";
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public DueTaskCommand(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public CommandResult execute() {
+        if (super.tasks.isEmpty()) {
+            return new CommandResult(Ui.MESSAGE_NO_TASKS_YET);
+        }
+        if (this.start.isAfter(this.end)) {
+            return new CommandResult(MESSAGE_START_AFTER_END);
+        }
+
+        final List<Task> tasksWithinDates = super.tasks.getListOfTasksWithinDates(this.start, this.end);
+        if (tasksWithinDates.isEmpty()) {
+            return new CommandResult(MESSAGE_NO_TASKS_FOUND);
+        }
+        return new CommandResult(String.format(MESSAGE_INTRODUCE_TASKS,
+                super.tasks.getStringOfTasksInList(tasksWithinDates)));
+    }
+}
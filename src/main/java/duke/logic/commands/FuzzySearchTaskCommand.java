@@ -0,0 +1,40 @@
+package duke.logic.commands;
+
+import duke.data.task.Task;
+import duke.ui.Ui;
+
+import java.util.List;
+
+/**
+ *  Represents the command that when executed, returns a list of tasks with names similar to the search term, allowing
+ *  for typos, with the closest matches first
+ */
+public class FuzzySearchTaskCommand extends Command {
+    public static final String COMMAND_WORD = "search~";
+    public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X" + Ui.QUOTATION;
+    public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT
+            + " : Search for task containing words similar to search term X";
+    public static final String MESSAGE_INVALID_FORMAT = "Please input a search term!";
+    private static final String MESSAGE_INTRODUCE_TASKS = "Here are the closest matching tasks in your list:" + Ui.LS
+            + "%s";
+
+    private final String searchTerm;
+
+    public FuzzySearchTaskCommand(String searchTerm) {
+        this.searchTerm = searchTerm;
+    }
+
+    @Override
+    public CommandResult execute() {
+        if (super.tasks.isEmpty()) {
+            return new CommandResult(Ui.MESSAGE_NO_TASKS_YET);
+        }
+
+        final List<Task> similarTasks = super.tasks.getListOfTasksWithSimilarTerm(this.searchTerm);
+        if (similarTasks.isEmpty()) {
+            return new CommandResult(SearchTaskCommand.MESSAGE_NO_TASKS_FOUND);
+        }
+        return new CommandResult(String.format(MESSAGE_INTRODUCE_TASKS,
+                super.tasks.getStringOfTasksInList(similarTasks)));
+    }
+}
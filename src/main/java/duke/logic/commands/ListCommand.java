@@ -1,14 +1,39 @@
 package duke.logic.commands;
 
+import duke.logic.exceptions.TaskNumOutOfBoundsException;
 import duke.ui.Ui;
 
 /**
- *  Represents the command that when executed, lists all the tasks in the current TaskList
+ *  Represents the command that when executed, lists all the tasks in the current TaskList, or only the tasks within a
+ *  given range of task numbers
  */
 public class ListCommand extends Command {
     public static final String COMMAND_WORD = "list";
     public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + Ui.QUOTATION;
     public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT + " : See lists of tasks";
+    public static final String MESSAGE_RANGE_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X Y" + Ui.QUOTATION;
+    public static final String MESSAGE_RANGE_DESCRIPTION = MESSAGE_RANGE_FORMAT
+            + " : See tasks from task number X to task number Y";
+    public static final String MESSAGE_INVALID_FORMAT = "Invalid format! Please input " + MESSAGE_COMMAND_FORMAT
+            + " to see all tasks, " + Ui.LS + "or " + MESSAGE_RANGE_FORMAT
+            + " to see tasks from task number X to task number Y!";
+
+    private static final int UNBOUNDED = -1;
+
+    private final int fromTaskNum;
+    private final int toTaskNum;
+
+    public ListCommand() {
+        this(UNBOUNDED, UNBOUNDED);
+    }
+
+    /**
+     * Constructs command that lists the tasks from fromTaskNum to toTaskNum (both inclusive)
+     */
+    public ListCommand(int fromTaskNum, int toTaskNum) {
+        this.fromTaskNum = fromTaskNum;
+        this.toTaskNum = toTaskNum;
+    }
 
     @Override
     public CommandResult execute() {
@@ -16,7 +41,13 @@ public class ListCommand extends Command {
             return new CommandResult(Ui.MESSAGE_NO_TASKS_YET);
         }
 
-        String listOfTasksInString = super.tasks.getStringOfAllTasks();
-        return new CommandResult(String.format(Ui.MESSAGE_INTRODUCE_TASKS, listOfTasksInString));
+        final int numTasks = super.tasks.getNumTasks();
+        if (fromTaskNum == UNBOUNDED) {
+            return new TaskListResult(Ui.MESSAGE_INTRODUCE_TASKS_HEADER, super.tasks, 1, numTasks);
+        }
+        if (fromTaskNum < 1 || toTaskNum > numTasks || fromTaskNum > toTaskNum) {
+            return new CommandResult(String.format(new TaskNumOutOfBoundsException().toString(), numTasks));
+        }
+        return new TaskListResult(Ui.MESSAGE_INTRODUCE_TASKS_HEADER, super.tasks, fromTaskNum, toTaskNum);
     }
 }
@@ -5,26 +5,45 @@ import duke.logic.exceptions.TaskListEmptyException;
 import duke.logic.exceptions.TaskNumOutOfBoundsException;
 import duke.ui.Ui;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Represents the command that when executed, marks the task at the given task number as done.
+ * Represents the command that when executed, marks the task at the given task number as done, or the tasks at the
+ * given ranges of task numbers, e.g. "done 1-500,812,900-950".
  */
 public class MarkTaskAsDoneCommand extends Command {
     public static final String COMMAND_WORD = "done";
     public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X" + Ui.QUOTATION;
     public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT + " : Mark task number X as done";
+    public static final String MESSAGE_RANGES_FORMAT = Ui.QUOTATION + COMMAND_WORD + " X-Y,Z" + Ui.QUOTATION;
+    public static final String MESSAGE_RANGES_DESCRIPTION = MESSAGE_RANGES_FORMAT
+            + " : Mark task numbers X to Y and Z as done";
     public static final String MESSAGE_INVALID_FORMAT = "Invalid format! Please input a task number to be marked as done, "
             + Ui.LS + "in the format " + MESSAGE_COMMAND_FORMAT + ", where X is the task number!";
     private static final String MESSAGE_SUCCESS = "Well done! I've marked this task as done. ^_^" + Ui.LS + "%s";
+    private static final String MESSAGE_SUCCESS_MULTIPLE = "Well done! Tasks marked as done: %d ^_^";
+    private static final String MESSAGE_SKIPPED_ALREADY_DONE = "Skipped %s (already done)";
+    private static final String MESSAGE_SKIPPED_OUT_OF_BOUNDS = "Skipped %1$s (not a task number from 1 to %2$d)";
 
 
     private int taskNum;
+    /** Ranges of task numbers of the tasks to mark as done, or null if only one task number was given */
+    private TaskNumRanges taskNumRanges;
 
     public MarkTaskAsDoneCommand(int taskNum) {
         this.taskNum = taskNum;
     }
 
+    public MarkTaskAsDoneCommand(TaskNumRanges taskNumRanges) {
+        this.taskNumRanges = taskNumRanges;
+    }
+
     @Override
     public CommandResult execute() {
+        if (taskNumRanges != null) {
+            return markTasksAsDone();
+        }
         try {
             super.tasks.markTaskAsDone(taskNum);
             final String taskString =  super.tasks.getTaskAtNum(taskNum).toString();
@@ -37,4 +56,39 @@ public class MarkTaskAsDoneCommand extends Command {
             return new CommandResult(String.format(e.toString()));
         }
     }
+
+    /**
+     * Marks the tasks in the ranges as done, skipping those that are already done or not in the list, and returns
+     * a single summary of the tasks marked as done and those skipped.
+     */
+    private CommandResult markTasksAsDone() {
+        if (super.tasks.isEmpty()) {
+            return new CommandResult(new TaskListEmptyException().toString());
+        }
+
+        final int numTasks = super.tasks.getNumTasks();
+        int numTasksMarked = 0;
+        final List<Integer> alreadyDoneTaskNums = new ArrayList<>();
+        for (int taskNum : taskNumRanges.getTaskNumsWithin(numTasks)) {
+            try {
+                super.tasks.markTaskAsDone(taskNum);
+                numTasksMarked++;
+            } catch (TaskAlreadyDoneException e) {
+                alreadyDoneTaskNums.add(taskNum);
+            } catch (TaskListEmptyException | TaskNumOutOfBoundsException e) {
+                //Cannot happen, as only task numbers within the list are marked
+            }
+        }
+
+        final StringBuilder summary = new StringBuilder(String.format(MESSAGE_SUCCESS_MULTIPLE, numTasksMarked));
+        if (!alreadyDoneTaskNums.isEmpty()) {
+            summary.append(Ui.LS).append(String.format(MESSAGE_SKIPPED_ALREADY_DONE,
+                    TaskNumRanges.toStringOfRanges(alreadyDoneTaskNums)));
+        }
+        final String outOfBoundsTaskNums = taskNumRanges.getStringOfTaskNumsOutside(numTasks);
+        if (!outOfBoundsTaskNums.isEmpty()) {
+            summary.append(Ui.LS).append(String.format(MESSAGE_SKIPPED_OUT_OF_BOUNDS, outOfBoundsTaskNums, numTasks));
+        }
+        return new CommandResult(summary.toString());
+    }
 }
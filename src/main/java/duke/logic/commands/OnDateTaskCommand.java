@@ -0,0 +1,23 @@
+package duke.logic.commands;
+
+import duke.ui.Ui;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ *  Represents the command that when executed, returns a list of Deadlines and Events on the given date, earliest first
+ */
+public class OnDateTaskCommand extends DueTaskCommand {
+    public static final String COMMAND_WORD = "on";
+    public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + " " + Ui.DATE_FORMAT
+            + Ui.QUOTATION;
+    public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT
+            + " : See deadlines and events on a date";
+    public static final String MESSAGE_INVALID_FORMAT = "Please input the date in the format " + Ui.QUOTATION
+            + Ui.DATE_FORMAT + Ui.QUOTATION + "!" + Ui.LS + "E.g: 12/12/2012";
+
+    public OnDateTaskCommand(LocalDate date) {
+        super(date.atStartOfDay(), date.atTime(LocalTime.MAX));
+    }
+}
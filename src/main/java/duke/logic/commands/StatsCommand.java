@@ -0,0 +1,26 @@
+package duke.logic.commands;
+
+import duke.ui.Ui;
+
+/**
+ *  Represents the command that when executed, shows statistics about the current session, i.e. how often searches
+ *  were answered from the search result cache, and how much memory is saved by tasks sharing equal descriptions
+ */
+public class StatsCommand extends Command {
+    public static final String COMMAND_WORD = "stats";
+    public static final String MESSAGE_COMMAND_FORMAT = Ui.QUOTATION + COMMAND_WORD + Ui.QUOTATION;
+    public static final String MESSAGE_COMMAND_DESCRIPTION = MESSAGE_COMMAND_FORMAT + " : See statistics of Dude";
+    private static final String MESSAGE_SEARCH_CACHE = "Searches answered from cache: %1$d of %2$d (hit rate: %3$.1f%%)";
+    private static final String MESSAGE_SHARED_DESCRIPTIONS = "Tasks sharing a description: %1$d (about %2$d KB saved)";
+    private static final int BYTES_PER_KB = 1024;
+
+    @Override
+    public CommandResult execute() {
+        final long numHits = super.tasks.getNumSearchCacheHits();
+        final long numSearches = numHits + super.tasks.getNumSearchCacheMisses();
+        final double hitRate = (numSearches == 0) ? 0 : 100.0 * numHits / numSearches;
+        return new CommandResult(String.format(MESSAGE_SEARCH_CACHE, numHits, numSearches, hitRate) + Ui.LS
+                + String.format(MESSAGE_SHARED_DESCRIPTIONS, super.tasks.getNumSharedDescriptions(),
+                        super.tasks.getNumBytesSavedBySharedDescriptions() / BYTES_PER_KB));
+    }
+}
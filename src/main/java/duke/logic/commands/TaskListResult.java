@@ -0,0 +1,52 @@
+package duke.logic.commands;
+
+import duke.data.task.TaskList;
+import duke.ui.Ui;
+
+import java.io.IOException;
+
+/**
+ *  Represents a result that shows a range of tasks in the TaskList under an introductory line.
+ *  The tasks are written straight to the output when the result is shown, instead of first being joined into one
+ *  String, so showing a long list takes memory in proportion to one task rather than to the whole list.
+ */
+public class TaskListResult extends CommandResult {
+    private final TaskList tasks;
+    private final int fromTaskNum;
+    private final int toTaskNum;
+
+    /**
+     * Constructs a result showing the tasks from fromTaskNum to toTaskNum (both inclusive).
+     *
+     * @param introduction Line shown before the tasks
+     * @param tasks TaskList containing the tasks
+     * @param fromTaskNum Task number of the first task to show
+     * @param toTaskNum Task number of the last task to show
+     */
+    public TaskListResult(String introduction, TaskList tasks, int fromTaskNum, int toTaskNum) {
+        super(introduction);
+        this.tasks = tasks;
+        this.fromTaskNum = fromTaskNum;
+        this.toTaskNum = toTaskNum;
+    }
+
+    @Override
+    public void writeTo(Appendable out) throws IOException {
+        out.append(super.messageToBeShown).append(Ui.LS);
+        synchronized (tasks) {
+            tasks.writeTasks(out, fromTaskNum, toTaskNum);
+        }
+        out.append(Ui.LS);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        try {
+            writeTo(result);
+        } catch (IOException e) {
+            //StringBuilder does not throw IOException
+        }
+        return result.toString().trim();
+    }
+}
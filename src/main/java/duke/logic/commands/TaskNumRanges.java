@@ -0,0 +1,108 @@
+package duke.logic.commands;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Represents the task numbers given to a command working on many tasks at once, as a list of ranges,
+ * e.g. "1-500,812,900-950". Ranges may overlap, and may include numbers that are not task numbers in the list.
+ */
+public class TaskNumRanges {
+    private static final String RANGE_SEPARATOR = ", ";
+    private static final String RANGE_SYMBOL = "-";
+
+    private final int[] starts;
+    private final int[] ends;
+
+    /**
+     * Constructs the ranges from their first and last task numbers.
+     *
+     * @param starts First task number of each range
+     * @param ends Last task number of each range, which is not less than its first
+     */
+    public TaskNumRanges(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Returns the task numbers from 1 to the given number of tasks that are in any of the ranges, without duplicates,
+     * in increasing order. Only the part of each range within the list is looked at, so a huge range costs no more
+     * than the list itself.
+     */
+    public int[] getTaskNumsWithin(int numTasks) {
+        final BitSet taskNums = new BitSet(numTasks + 1);
+        for (int i = 0; i < starts.length; i++) {
+            final int start = Math.max(1, starts[i]);
+            final int end = Math.min(numTasks, ends[i]);
+            if (start <= end) {
+                taskNums.set(start, end + 1);
+            }
+        }
+        return taskNums.stream().toArray();
+    }
+
+    /**
+     * Returns the numbers in the ranges that are not from 1 to the given number of tasks, in the form
+     * "0, 951-1000", or an empty String if there are none.
+     */
+    public String getStringOfTaskNumsOutside(int numTasks) {
+        final List<long[]> outsideRanges = new ArrayList<>();
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] < 1) {
+                outsideRanges.add(new long[] {starts[i], Math.min(ends[i], 0)});
+            }
+            if (ends[i] > numTasks) {
+                outsideRanges.add(new long[] {Math.max(starts[i], numTasks + 1L), ends[i]});
+            }
+        }
+        outsideRanges.sort((first, second) -> Long.compare(first[0], second[0]));
+
+        final StringBuilder string = new StringBuilder();
+        int i = 0;
+        while (i < outsideRanges.size()) {
+            final long start = outsideRanges.get(i)[0];
+            long end = outsideRanges.get(i)[1];
+            i++;
+            //Overlapping and adjacent ranges are shown as one
+            while (i < outsideRanges.size() && outsideRanges.get(i)[0] <= end + 1) {
+                end = Math.max(end, outsideRanges.get(i)[1]);
+                i++;
+            }
+            appendRange(string, start, end);
+        }
+        return string.toString();
+    }
+
+    /**
+     * Returns the given task numbers in the form "812, 900-902", with runs of consecutive numbers shown as ranges.
+     *
+     * @param taskNums Task numbers in increasing order
+     */
+    public static String toStringOfRanges(List<Integer> taskNums) {
+        final StringBuilder string = new StringBuilder();
+        int i = 0;
+        while (i < taskNums.size()) {
+            final int start = taskNums.get(i);
+            int end = start;
+            i++;
+            while (i < taskNums.size() && taskNums.get(i) == end + 1) {
+                end++;
+                i++;
+            }
+            appendRange(string, start, end);
+        }
+        return string.toString();
+    }
+
+    private static void appendRange(StringBuilder string, long start, long end) {
+        if (string.length() > 0) {
+            string.append(RANGE_SEPARATOR);
+        }
+        string.append(start);
+        if (end != start) {
+            string.append(RANGE_SYMBOL).append(end);
+        }
+    }
+}
@@ -7,23 +7,79 @@ import duke.logic.commands.ByeCommand;
 import duke.logic.commands.Command;
 import duke.logic.commands.CommandListCommand;
 import duke.logic.commands.DeleteTaskCommand;
+import duke.logic.commands.DueTaskCommand;
+import duke.logic.commands.FuzzySearchTaskCommand;
 import duke.logic.commands.IncorrectCommand;
 import duke.logic.commands.ListCommand;
 import duke.logic.commands.MarkTaskAsDoneCommand;
+import duke.logic.commands.OnDateTaskCommand;
 import duke.logic.commands.SearchTaskCommand;
+import duke.logic.commands.StatsCommand;
+import duke.logic.commands.TaskNumRanges;
 import duke.logic.exceptions.InvalidCommandFormatException;
 import duke.logic.exceptions.MissingTaskDescriptionException;
 import duke.ui.Ui;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Parses user input to execute the appropriate commands.
  * Method of parsing commands partially adapted from https://github.com/se-edu/addressbook-level2
+ *
+ * Input is scanned once by index instead of being split with regular expressions, and dates in the usual layout are
+ * parsed by hand, as parsing is on the hot path when a file of commands is piped in. A Parser keeps no state between
+ * commands, so a single instance can parse every line of input.
  */
 public class Parser {
+    /** Characters matched by the regular expression "\\s", which separate the arguments of some commands */
+    private static final String WHITESPACE_CHARACTERS = " \t\n\u000B\f\r";
+    private static final int DATE_LENGTH = Ui.DATE_FORMAT.length();
+    private static final int DATE_TIME_LENGTH = Ui.DATE_TIME_FORMAT.length();
+    /** Formatters for the dates that cannot be parsed by hand, shared as making one parses its pattern */
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(Ui.DATE_TIME_FORMAT);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(Ui.DATE_FORMAT);
+    private static final char TASK_NUM_RANGE_SEPARATOR = ',';
+    private static final char TASK_NUM_RANGE_SYMBOL = '-';
+
+    /**
+     * Returns the index of the first character of the string from the given index that {@link String#trim()} would
+     * keep, i.e. that is not a space or control character, or the end index if there is none.
+     */
+    private static int skipLeadingSpaces(String s, int start, int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character of the string before the given index that {@link String#trim()}
+     * would keep, or the start index if there is none.
+     */
+    private static int skipTrailingSpaces(String s, int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /** Returns true if the string is empty once trimmed */
+    private static boolean isBlank(String s) {
+        return skipLeadingSpaces(s, 0, s.length()) == s.length();
+    }
+
+    /** Returns the index of the character in the given range of the string, or -1 if it is not in the range */
+    private static int indexOf(String s, char c, int start, int end) {
+        final int index = s.indexOf(c, start);
+        return (index < end) ? index : -1;
+    }
 
     /**
      * Returns a String array where 0th index is command string and 1st index is the remaining parameters
@@ -35,11 +91,13 @@ public class Parser {
      */
     private String[] splitInputIntoCommandAndParams(String input) {
         String[] commandAndParams = new String[2];
-        final String[] splitInput = input.trim().split(" ", 2);
+        final int start = skipLeadingSpaces(input, 0, input.length());
+        final int end = skipTrailingSpaces(input, start, input.length());
+        final int separator = indexOf(input, ' ', start, end);
         //command string
-        commandAndParams[0] = splitInput[0];
+        commandAndParams[0] = input.substring(start, (separator < 0) ? end : separator);
         //param string, if not given, set to EMPTY for error handling
-        commandAndParams[1] = (splitInput.length >= 2) ? splitInput[1] : Ui.EMPTY;
+        commandAndParams[1] = (separator < 0) ? Ui.EMPTY : input.substring(separator + 1, end);
         return commandAndParams;
     }
 
@@ -55,15 +113,20 @@ public class Parser {
      * @throws MissingTaskDescriptionException If no task description is provided
      */
     private String[] splitParamsIntoDescriptionAndInfo(String params) throws MissingTaskDescriptionException {
-        final String[] splitParams = params.trim().split("/", 2);
+        final int start = skipLeadingSpaces(params, 0, params.length());
+        final int end = skipTrailingSpaces(params, start, params.length());
+        final int separator = indexOf(params, '/', start, end);
         String[] descriptionAndInfo = new String[2];
         //description string
-        descriptionAndInfo[0] = splitParams[0].trim();
-        if (descriptionAndInfo[0].equals(Ui.EMPTY)) {
+        final int descriptionEnd = skipTrailingSpaces(params, start, (separator < 0) ? end : separator);
+        if (descriptionEnd == start) {
             throw new MissingTaskDescriptionException();
         }
+        descriptionAndInfo[0] = params.substring(start, descriptionEnd);
         //other info string, if not given, return EMPTY for error handling
-        descriptionAndInfo[1] = (splitParams.length >= 2) ? splitParams[1].trim() : Ui.EMPTY;
+        descriptionAndInfo[1] = (separator < 0)
+                ? Ui.EMPTY
+                : params.substring(skipLeadingSpaces(params, separator + 1, end), end);
         return descriptionAndInfo;
     }
 
@@ -78,19 +141,83 @@ public class Parser {
      * @throws DateTimeParseException If date string is not in the expected pattern
      */
     public static LocalDateTime extractDateIntoDateTime(String commandPrefix, String info) throws InvalidCommandFormatException, DateTimeParseException {
-        LocalDateTime dateAndTime;
-        final String[] words = info.split(" ", 2);
-        if (words[0].equals(commandPrefix) && words.length > 1) {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(Ui.DATE_TIME_FORMAT);
-            dateAndTime = LocalDateTime.parse(words[1], formatter);
-        } else {
+        final int separator = info.indexOf(' ');
+        if (separator != commandPrefix.length() || !info.startsWith(commandPrefix)) {
             throw new InvalidCommandFormatException();
         }
-        return dateAndTime;
+        return parseDateTime(info, separator + 1, info.length());
+    }
+
+    /**
+     * Returns the date and time in LocalDateTime form
+     *
+     * @param dateAndTime Date and time in the pattern {@link Ui#DATE_TIME_FORMAT}
+     * @return Date in LocalDateTime form
+     * @throws DateTimeParseException If date string is not in the expected pattern
+     */
+    public static LocalDateTime parseDateTime(String dateAndTime) throws DateTimeParseException {
+        return parseDateTime(dateAndTime, 0, dateAndTime.length());
+    }
+
+    /**
+     * Returns the date and time in the given range of the string in LocalDateTime form.
+     * Dates and times in the usual layout, like "12/12/2021 2359", are parsed by hand. Anything else, including
+     * the end of a day written as "2400" or a day past the end of the month, is left to the formatter so that it is
+     * accepted, adjusted or rejected in the same way as before.
+     *
+     * @throws DateTimeParseException If date string is not in the pattern {@link Ui#DATE_TIME_FORMAT}
+     */
+    private static LocalDateTime parseDateTime(String s, int start, int end) throws DateTimeParseException {
+        if (end - start == DATE_TIME_LENGTH && s.charAt(start + DATE_LENGTH) == ' ' && isValidDate(s, start)) {
+            final int hour = parseDigits(s, start + DATE_LENGTH + 1, 2);
+            final int minute = parseDigits(s, start + DATE_LENGTH + 3, 2);
+            if (hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59) {
+                return LocalDateTime.of(parseDigits(s, start + 6, 4), parseDigits(s, start + 3, 2),
+                        parseDigits(s, start, 2), hour, minute);
+            }
+        }
+        return LocalDateTime.parse(s.substring(start, end), DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Returns the date in the given range of the string in LocalDate form, parsed by hand like
+     * {@link #parseDateTime(String, int, int)}.
+     *
+     * @throws DateTimeParseException If date string is not in the pattern {@link Ui#DATE_FORMAT}
+     */
+    private static LocalDate parseDate(String s, int start, int end) throws DateTimeParseException {
+        if (end - start == DATE_LENGTH && isValidDate(s, start)) {
+            return LocalDate.of(parseDigits(s, start + 6, 4), parseDigits(s, start + 3, 2), parseDigits(s, start, 2));
+        }
+        return LocalDate.parse(s.substring(start, end), DATE_FORMATTER);
+    }
+
+    /** Returns true if the string has a valid date in the layout "dd/MM/yyyy" at the given index */
+    private static boolean isValidDate(String s, int start) {
+        if (s.charAt(start + 2) != '/' || s.charAt(start + 5) != '/') {
+            return false;
+        }
+        final int day = parseDigits(s, start, 2);
+        final int month = parseDigits(s, start + 3, 2);
+        final int year = parseDigits(s, start + 6, 4);
+        return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= Month.of(month).length(Year.isLeap(year));
+    }
+
+    /** Returns the value of the given number of decimal digits starting at the index, or -1 if any is not a digit */
+    private static int parseDigits(String s, int start, int numDigits) {
+        int value = 0;
+        for (int i = start; i < start + numDigits; i++) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     private Command parseAddTodo (String params) {
-        if (params.trim().equals(Ui.EMPTY)) {
+        if (isBlank(params)) {
             return new IncorrectCommand(AddTodoCommand.MESSAGE_INVALID_FORMAT);
         }
         return new AddTodoCommand(params);
@@ -130,12 +257,95 @@ public class Parser {
         }
     }
 
+    private Command parseList (String params) {
+        final int start = skipLeadingSpaces(params, 0, params.length());
+        final int end = skipTrailingSpaces(params, start, params.length());
+        if (start == end) {
+            return new ListCommand();
+        }
+        //The two task numbers are separated by whitespace
+        int firstEnd = start;
+        while (firstEnd < end && WHITESPACE_CHARACTERS.indexOf(params.charAt(firstEnd)) < 0) {
+            firstEnd++;
+        }
+        int secondStart = firstEnd;
+        while (secondStart < end && WHITESPACE_CHARACTERS.indexOf(params.charAt(secondStart)) >= 0) {
+            secondStart++;
+        }
+        int secondEnd = secondStart;
+        while (secondEnd < end && WHITESPACE_CHARACTERS.indexOf(params.charAt(secondEnd)) < 0) {
+            secondEnd++;
+        }
+        if (secondStart == end || secondEnd != end) {
+            return new IncorrectCommand(ListCommand.MESSAGE_INVALID_FORMAT);
+        }
+        try {
+            return new ListCommand(Integer.parseInt(params, start, firstEnd, 10),
+                    Integer.parseInt(params, secondStart, secondEnd, 10));
+        } catch (NumberFormatException e) {
+            return new IncorrectCommand(ListCommand.MESSAGE_INVALID_FORMAT);
+        }
+    }
+
+    /**
+     * Returns the ranges of task numbers in the form "1-500,812,900-950", or null if the params are not in this form.
+     * Each range is either a single task number or the first and last task numbers joined by "-", and ranges are
+     * separated by ",". Spaces around ranges are ignored.
+     *
+     * @param params Params string holding the ranges
+     */
+    private static TaskNumRanges parseTaskNumRanges(String params) {
+        final List<Integer> starts = new ArrayList<>();
+        final List<Integer> ends = new ArrayList<>();
+        int rangeStart = 0;
+        while (rangeStart <= params.length()) {
+            int rangeEnd = params.indexOf(TASK_NUM_RANGE_SEPARATOR, rangeStart);
+            if (rangeEnd < 0) {
+                rangeEnd = params.length();
+            }
+            final int start = skipLeadingSpaces(params, rangeStart, rangeEnd);
+            final int end = skipTrailingSpaces(params, start, rangeEnd);
+            final int rangeSymbol = indexOf(params, TASK_NUM_RANGE_SYMBOL, start, end);
+            final int firstTaskNum = parseTaskNum(params, start, (rangeSymbol < 0) ? end : rangeSymbol);
+            final int lastTaskNum = (rangeSymbol < 0) ? firstTaskNum : parseTaskNum(params, rangeSymbol + 1, end);
+            if (firstTaskNum < 0 || lastTaskNum < firstTaskNum) {
+                return null;
+            }
+            starts.add(firstTaskNum);
+            ends.add(lastTaskNum);
+            rangeStart = rangeEnd + 1;
+        }
+        return new TaskNumRanges(starts.stream().mapToInt(Integer::intValue).toArray(),
+                ends.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /** Returns the task number made of only the digits in the given range of the string, or -1 if there is none */
+    private static int parseTaskNum(String s, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        try {
+            return Integer.parseInt(s, start, end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private Command parseMarkTaskAsDone (String params) {
         try {
             int taskNum = Integer.parseInt(params);
             return new MarkTaskAsDoneCommand(taskNum);
         } catch (NumberFormatException e) {
-            return new IncorrectCommand(MarkTaskAsDoneCommand.MESSAGE_INVALID_FORMAT);
+            final TaskNumRanges taskNumRanges = parseTaskNumRanges(params);
+            if (taskNumRanges == null) {
+                return new IncorrectCommand(MarkTaskAsDoneCommand.MESSAGE_INVALID_FORMAT);
+            }
+            return new MarkTaskAsDoneCommand(taskNumRanges);
         }
     }
 
@@ -144,17 +354,57 @@ public class Parser {
             int taskNum = Integer.parseInt(params);
             return new DeleteTaskCommand(taskNum);
         } catch (NumberFormatException e) {
-            return new IncorrectCommand(DeleteTaskCommand.MESSAGE_INVALID_FORMAT);
+            final TaskNumRanges taskNumRanges = parseTaskNumRanges(params);
+            if (taskNumRanges == null) {
+                return new IncorrectCommand(DeleteTaskCommand.MESSAGE_INVALID_FORMAT);
+            }
+            return new DeleteTaskCommand(taskNumRanges);
         }
     }
 
     private Command parseSearchTask (String params) {
-        if (params.trim().equals(Ui.EMPTY)) {
+        if (isBlank(params)) {
             return new IncorrectCommand(SearchTaskCommand.MESSAGE_INVALID_FORMAT);
         }
         return new SearchTaskCommand(params);
     }
 
+    private Command parseFuzzySearchTask (String params) {
+        if (isBlank(params)) {
+            return new IncorrectCommand(FuzzySearchTaskCommand.MESSAGE_INVALID_FORMAT);
+        }
+        return new FuzzySearchTaskCommand(params);
+    }
+
+    private Command parseDueTask (String params) {
+        //Each date and time is two words, e.g. "12/12/2021 2359", so there must be exactly three spaces
+        final int start = skipLeadingSpaces(params, 0, params.length());
+        final int end = skipTrailingSpaces(params, start, params.length());
+        final int firstSpace = indexOf(params, ' ', start, end);
+        final int secondSpace = (firstSpace < 0) ? -1 : indexOf(params, ' ', firstSpace + 1, end);
+        final int thirdSpace = (secondSpace < 0) ? -1 : indexOf(params, ' ', secondSpace + 1, end);
+        if (thirdSpace < 0 || indexOf(params, ' ', thirdSpace + 1, end) >= 0) {
+            return new IncorrectCommand(DueTaskCommand.MESSAGE_INVALID_FORMAT);
+        }
+        try {
+            final LocalDateTime startDateAndTime = parseDateTime(params, start, secondSpace);
+            final LocalDateTime endDateAndTime = parseDateTime(params, secondSpace + 1, end);
+            return new DueTaskCommand(startDateAndTime, endDateAndTime);
+        } catch (DateTimeParseException e) {
+            return new IncorrectCommand(Ui.MESSAGE_ERROR_DATE_FORMAT_WRONG);
+        }
+    }
+
+    private Command parseOnDateTask (String params) {
+        try {
+            final int start = skipLeadingSpaces(params, 0, params.length());
+            final LocalDate date = parseDate(params, start, skipTrailingSpaces(params, start, params.length()));
+            return new OnDateTaskCommand(date);
+        } catch (DateTimeParseException e) {
+            return new IncorrectCommand(OnDateTaskCommand.MESSAGE_INVALID_FORMAT);
+        }
+    }
+
     /**
      * Returns the correct command to be executed depending on user input
      *
@@ -174,17 +424,25 @@ public class Parser {
         case AddEventCommand.COMMAND_WORD:
             return parseAddEvent(params);
         case ListCommand.COMMAND_WORD:
-            return new ListCommand();
+            return parseList(params);
         case MarkTaskAsDoneCommand.COMMAND_WORD:
             return parseMarkTaskAsDone(params);
         case DeleteTaskCommand.COMMAND_WORD:
             return parseDeleteTask(params);
         case SearchTaskCommand.COMMAND_WORD:
             return parseSearchTask(params);
+        case FuzzySearchTaskCommand.COMMAND_WORD:
+            return parseFuzzySearchTask(params);
+        case DueTaskCommand.COMMAND_WORD:
+            return parseDueTask(params);
+        case OnDateTaskCommand.COMMAND_WORD:
+            return parseOnDateTask(params);
         case ByeCommand.COMMAND_WORD:
             return new ByeCommand();
         case CommandListCommand.COMMAND_WORD:
             return new CommandListCommand();
+        case StatsCommand.COMMAND_WORD:
+            return new StatsCommand();
         default:
             return new IncorrectCommand(Ui.MESSAGE_ERROR_COMMAND_DOES_NOT_EXIST);
         }
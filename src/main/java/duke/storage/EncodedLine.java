@@ -0,0 +1,146 @@
+package duke.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * View of a line of a text storage file as it is stored, i.e. as bytes, so that it can be decoded without first
+ * making a String of the whole line. Only the description of the task is ever made a String.
+ *
+ * Each byte is seen as one character. The field separators, type, done status and dates are all ASCII, which every
+ * charset the storage file may be written in encodes the same way, one byte each, so they are found at the same
+ * indices as in the decoded line. Bytes of other characters are never taken for them.
+ * The view can be moved from line to line, so that a whole file can be decoded through a single view.
+ *
+ * The bytes are read from the array behind the data. Data without one, e.g. a memory-mapped file, is copied into an
+ * array a line at a time, as reading it a byte at a time through the buffer is several times slower.
+ */
+class EncodedLine implements CharSequence {
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final ByteBuffer data;
+    /** View of the data to copy lines out of, or null if the data is backed by an array */
+    private final ByteBuffer dataToCopy;
+    /** Array behind the data, or the array that the current line was copied into */
+    private byte[] bytes;
+    /** Index of the line in the data */
+    private int start;
+    /** Index of the line in the array */
+    private int offset;
+    private int length;
+
+    /**
+     * Constructs a view of the line in [start, end) of the given data.
+     *
+     * @param data Bytes of the storage file, of which only the absolute get methods are used
+     */
+    EncodedLine(ByteBuffer data, int start, int end) {
+        this.data = data;
+        if (data.hasArray()) {
+            this.dataToCopy = null;
+            this.bytes = data.array();
+        } else {
+            this.dataToCopy = data.duplicate();
+            this.bytes = NO_BYTES;
+        }
+        moveTo(start, end);
+    }
+
+    /** Makes this a view of the line in [start, end) of the same data instead */
+    void moveTo(int start, int end) {
+        this.start = start;
+        this.length = end - start;
+        if (dataToCopy == null) {
+            offset = data.arrayOffset() + start;
+            return;
+        }
+
+        if (bytes.length < length) {
+            bytes = new byte[Math.max(length, bytes.length * 2)];
+        }
+        dataToCopy.position(start);
+        dataToCopy.get(bytes, 0, length);
+        offset = 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    /**
+     * Returns the index in the line of the first occurrence of the given ASCII string from the given index, or -1 if
+     * there is none, like {@link String#indexOf(String, int)} on the decoded line.
+     */
+    int indexOf(String asciiString, int fromIndex) {
+        final int lastIndex = offset + length - asciiString.length();
+        final byte first = (byte) asciiString.charAt(0);
+        for (int i = offset + Math.max(fromIndex, 0); i <= lastIndex; i++) {
+            if (bytes[i] == first && isAt(asciiString, i)) {
+                return i - offset;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isAt(String asciiString, int index) {
+        for (int i = 1; i < asciiString.length(); i++) {
+            if (bytes[index + i] != (byte) asciiString.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public CharSequence subSequence(int subSequenceStart, int subSequenceEnd) {
+        return new EncodedLine(data, start + subSequenceStart, start + subSequenceEnd);
+    }
+
+    /**
+     * Decodes the bytes in the given range of the line into a String.
+     *
+     * @param from Index in the line of the first byte
+     * @param to Index in the line after the last byte
+     * @param charset Charset the storage file is written in
+     */
+    String decode(int from, int to, Charset charset) {
+        return new String(bytes, offset + from, to - from, charset);
+    }
+
+    /** Decodes the whole line into a String, e.g. to report it */
+    String decode(Charset charset) {
+        return decode(0, length(), charset);
+    }
+
+    /**
+     * Returns true if the line is empty or only has white space, like {@link String#isBlank()} on the decoded line.
+     * Only a line with other than ASCII bytes has to be decoded to tell.
+     */
+    boolean isBlank(Charset charset) {
+        for (int i = 0; i < length(); i++) {
+            final char c = charAt(i);
+            if (c >= 0x80) {
+                return decode(charset).isBlank();
+            }
+            if (!Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder string = new StringBuilder(length());
+        for (int i = 0; i < length(); i++) {
+            string.append(charAt(i));
+        }
+        return string.toString();
+    }
+}
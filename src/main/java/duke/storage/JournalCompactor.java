@@ -0,0 +1,181 @@
+package duke.storage;
+
+import duke.data.task.Task;
+import duke.logic.exceptions.TaskAlreadyDoneException;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Folds a journal into the storage file it was recorded against, writing the result out as a new storage file.
+ * The journal is first replayed on the positions of the tasks alone, then the storage file is streamed through one
+ * task at a time, leaving out the deleted tasks and marking the done ones. A compaction therefore needs no copy of the
+ * task list in memory, only a few bytes per task.
+ *
+ * Tasks are numbered by their position among the tasks still in the list, so the position of the task at a number is
+ * found with a Fenwick tree counting the tasks left at each position, in O(log n) time.
+ * Records that cannot be applied are skipped, like when the journal is replayed on loading.
+ */
+class JournalCompactor {
+    private final int numTasksInSnapshot;
+    /** Tasks added by the journal, which come after the tasks of the storage file */
+    private final List<Task> addedTasks = new ArrayList<>();
+    private final BitSet deletedPositions = new BitSet();
+    private final BitSet donePositions = new BitSet();
+    /** Fenwick tree of the number of tasks left at each position, indexed from 1 */
+    private final int[] tree;
+    private int numTasks;
+
+    /**
+     * Constructs the compactor and replays the records of the journal.
+     *
+     * @param numTasksInSnapshot Number of valid tasks in the storage file the journal was recorded against
+     * @param records Records of the journal, in the order they were recorded
+     */
+    JournalCompactor(int numTasksInSnapshot, List<String> records) {
+        this.numTasksInSnapshot = numTasksInSnapshot;
+        int numAddRecords = 0;
+        for (String record : records) {
+            if (record.startsWith(TaskListJournal.RECORD_ADD)) {
+                numAddRecords++;
+            }
+        }
+
+        //Every task of the storage file is in the list at the start, while added tasks are not yet
+        tree = new int[numTasksInSnapshot + numAddRecords + 1];
+        for (int i = 1; i < tree.length; i++) {
+            final int rangeStart = i - Integer.lowestOneBit(i);
+            tree[i] = Math.max(0, Math.min(i, numTasksInSnapshot) - rangeStart);
+        }
+        numTasks = numTasksInSnapshot;
+
+        for (String record : records) {
+            applyRecord(record);
+        }
+    }
+
+    private void applyRecord(String record) {
+        final String[] typeAndArgument = record.split(TaskListJournal.RECORD_SEPARATOR_REGEX, 2);
+        if (typeAndArgument.length < 2) {
+            return;
+        }
+
+        switch (typeAndArgument[0]) {
+        case TaskListJournal.RECORD_ADD:
+            final Task task = TaskListDecoder.decodeTask(typeAndArgument[1]);
+            if (task != null) {
+                addedTasks.add(task);
+                addToTree(numTasksInSnapshot + addedTasks.size() - 1, 1);
+                numTasks++;
+            }
+            break;
+        case TaskListJournal.RECORD_DONE:
+            final int donePosition = findPositionOf(typeAndArgument[1]);
+            if (donePosition >= 0) {
+                donePositions.set(donePosition);
+            }
+            break;
+        case TaskListJournal.RECORD_DELETE:
+            final int deletedPosition = findPositionOf(typeAndArgument[1]);
+            if (deletedPosition >= 0) {
+                deletedPositions.set(deletedPosition);
+                addToTree(deletedPosition, -1);
+                numTasks--;
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    /** Returns the position of the task at the given task number, or -1 if it is not a valid task number */
+    private int findPositionOf(String taskNumString) {
+        final int taskNum;
+        try {
+            taskNum = Integer.parseInt(taskNumString);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (taskNum < 1 || taskNum > numTasks) {
+            return -1;
+        }
+
+        //Walks down the tree to the last index with fewer than taskNum tasks up to it, which is the position before
+        int index = 0;
+        int remainingTaskNum = taskNum;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            if (index + step < tree.length && tree[index + step] < remainingTaskNum) {
+                index += step;
+                remainingTaskNum -= tree[index];
+            }
+        }
+        return index;
+    }
+
+    private void addToTree(int position, int delta) {
+        for (int i = position + 1; i < tree.length; i += Integer.lowestOneBit(i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Writes the tasks left after the journal to the given stream, in the given format, reading the tasks of the
+     * storage file from the given reader. The stream is flushed but not closed.
+     *
+     * @param snapshot Reader of the storage file the journal was recorded against
+     * @param out Stream to write the new storage file to
+     * @param format Format to write the new storage file in
+     * @return Number of tasks written
+     * @throws IOException If the storage file could not be read, or has fewer tasks than when it was loaded, or the
+     *                     stream could not be written to
+     */
+    int writeTo(TaskListDecoder.TaskReader snapshot, OutputStream out, StorageFormat format) throws IOException {
+        final TaskListEncoder encoder = new TaskListEncoder();
+        final DataOutputStream dataOut = (format == StorageFormat.BINARY) ? new DataOutputStream(out) : null;
+        final Writer writer = (format == StorageFormat.BINARY) ? null : new OutputStreamWriter(out);
+        if (dataOut != null) {
+            encoder.encodeBinaryHeader(numTasks, dataOut);
+        }
+
+        for (int position = 0; position < numTasksInSnapshot + addedTasks.size(); position++) {
+            final Task task = (position < numTasksInSnapshot)
+                    ? snapshot.next()
+                    : addedTasks.get(position - numTasksInSnapshot);
+            if (task == null) {
+                throw new IOException("Storage file has fewer tasks than when it was loaded");
+            }
+            if (deletedPositions.get(position)) {
+                continue;
+            }
+            if (donePositions.get(position) && !task.isDone()) {
+                markAsDone(task);
+            }
+            if (dataOut != null) {
+                encoder.encodeTaskToBinary(task, dataOut);
+            } else {
+                encoder.encodeTaskTo(task, writer);
+            }
+        }
+
+        if (dataOut != null) {
+            dataOut.flush();
+        } else {
+            writer.flush();
+        }
+        return numTasks;
+    }
+
+    private static void markAsDone(Task task) {
+        try {
+            task.markAsDone();
+        } catch (TaskAlreadyDoneException e) {
+            //Cannot happen, as only tasks that are not done are marked
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package duke.storage;
+
+import duke.data.task.IdSearchableStore;
+import duke.data.task.Task;
+import duke.storage.exceptions.InvalidStorageDataException;
+import duke.ui.Ui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Store of tasks that only decodes a task from the storage file when it is accessed.
+ * On loading, the bytes of the storage file are read into memory and scanned once to build a compact array with one
+ * entry per task, holding the offset of its line. Decoded tasks are kept in a bounded cache.
+ * The store decodes tasks from its own copy of the bytes, never from the file, so saves and compactions can replace
+ * the file while the store is in use. A memory-mapped file would keep being read after it was replaced, and could not
+ * be replaced at all on Windows while mapped.
+ * Tasks that are added or changed are pinned in memory, as they can no longer be decoded from the file.
+ * Every line is checked in full while the array is built, without decoding it into a task, so that invalid lines are
+ * reported once and left out like when the whole file is decoded, and the tasks are numbered the same either way.
+ */
+public class LazyTaskStore extends AbstractList<Task> implements IdSearchableStore {
+    private static final int CACHE_SIZE = 4096;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ByteBuffer data;
+    private final Charset charset = Charset.defaultCharset();
+    /** Offset of the line of each task, or for a pinned task, -1 minus its index in the pinned tasks */
+    private int[] entries;
+    private int size;
+    private final List<Task> pinnedTasks = new ArrayList<>();
+    private final Map<Integer, Task> decodedTasks = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private LazyTaskStore(ByteBuffer data) {
+        this.data = data;
+        this.entries = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Builds the store from a storage file in the text format, without decoding any task.
+     * Invalid lines are reported and left out.
+     *
+     * @param path Path of the storage file, at most {@link ParallelTaskListLoader#MAX_FILE_SIZE_IN_BYTES} in size
+     * @return Store containing one entry per valid line of the file
+     * @throws IOException If the file could not be read
+     */
+    public static LazyTaskStore load(Path path) throws IOException {
+        final ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        final LazyTaskStore store = new LazyTaskStore(data);
+        final EncodedLine line = new EncodedLine(data, 0, 0);
+        final int fileSize = data.limit();
+        int lineStart = 0;
+        while (lineStart < fileSize) {
+            int lineEnd = lineStart;
+            while (lineEnd < fileSize && data.get(lineEnd) != NEW_LINE) {
+                lineEnd++;
+            }
+            final boolean hasCarriageReturn = lineEnd > lineStart && data.get(lineEnd - 1) == CARRIAGE_RETURN;
+            line.moveTo(lineStart, hasCarriageReturn ? lineEnd - 1 : lineEnd);
+            store.indexLine(line, lineStart);
+            lineStart = lineEnd + 1;
+        }
+        return store;
+    }
+
+    /** Adds an entry for the line at the given offset if it is valid, otherwise reports it unless it is blank */
+    private void indexLine(EncodedLine line, int start) {
+        if (TaskListDecoder.isValidTask(line)) {
+            appendEntry(start);
+            return;
+        }
+        if (!line.isBlank(charset)) {
+            Ui.showMessageFramedWithDivider(new InvalidStorageDataException(line.decode(charset)).toString());
+        }
+    }
+
+    private void appendEntry(int entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size] = entry;
+        size++;
+    }
+
+    private EncodedLine readLine(int start) {
+        int end = start;
+        while (end < data.limit() && data.get(end) != NEW_LINE) {
+            end++;
+        }
+        if (end > start && data.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        return new EncodedLine(data, start, end);
+    }
+
+    private static boolean isPinned(int entry) {
+        return entry < 0;
+    }
+
+    /** Returns the index in the pinned tasks of the task with the given entry, which must be pinned */
+    private static int getPinnedIndex(int entry) {
+        return -1 - entry;
+    }
+
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int entry = entries[index];
+        if (isPinned(entry)) {
+            return pinnedTasks.get(getPinnedIndex(entry));
+        }
+
+        Task task = decodedTasks.get(entry);
+        if (task == null) {
+            task = decodeLine(entry);
+            decodedTasks.put(entry, task);
+        }
+        return task;
+    }
+
+    /**
+     * Searches the array of entries for the task with the given id, decoding no line: the id of a task decoded from
+     * the file is the offset of its line, and a pinned task is already in memory.
+     */
+    @Override
+    public int binarySearchId(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final long midId = getIdAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private long getIdAt(int index) {
+        final int entry = entries[index];
+        return isPinned(entry) ? pinnedTasks.get(getPinnedIndex(entry)).getId() : entry;
+    }
+
+    /** Decodes the line at the given offset, which was checked to be valid when the store was built */
+    private Task decodeLine(int offset) {
+        final Task task = TaskListDecoder.decodeTask(readLine(offset), charset);
+        if (task == null) {
+            throw new IllegalStateException("Line at offset " + offset + " changed after it was checked");
+        }
+        task.setId(offset);
+        return task;
+    }
+
+    /**
+     * Returns the first id that is not used by a task decoded from the file.
+     * Tasks decoded from the file use the offset of their line as id, which increases in list order.
+     */
+    public long getFirstFreeId() {
+        return data.limit();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        appendEntry(0);
+        System.arraycopy(entries, index, entries, index + 1, size - 1 - index);
+        entries[index] = pin(task);
+        modCount++;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        final Task previousTask = get(index);
+        final int entry = entries[index];
+        if (isPinned(entry)) {
+            pinnedTasks.set(getPinnedIndex(entry), task);
+        } else {
+            decodedTasks.remove(entry);
+            entries[index] = pin(task);
+        }
+        return previousTask;
+    }
+
+    @Override
+    public Task remove(int index) {
+        final Task removedTask = get(index);
+        final int entry = entries[index];
+        if (isPinned(entry)) {
+            pinnedTasks.set(getPinnedIndex(entry), null);
+        } else {
+            decodedTasks.remove(entry);
+        }
+        System.arraycopy(entries, index + 1, entries, index, size - 1 - index);
+        size--;
+        modCount++;
+        return removedTask;
+    }
+
+    /** Keeps the task in memory and returns the entry referring to it */
+    private int pin(Task task) {
+        pinnedTasks.add(task);
+        return -pinnedTasks.size();
+    }
+}
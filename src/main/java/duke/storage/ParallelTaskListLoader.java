@@ -0,0 +1,125 @@
+package duke.storage;
+
+import duke.data.task.Task;
+import duke.data.task.TaskList;
+import duke.storage.exceptions.InvalidStorageDataException;
+import duke.ui.Ui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Loads large storage files in the text format by memory-mapping the file, splitting it into chunks on line
+ * boundaries and decoding the chunks in parallel on the common fork-join pool.
+ * The tasks and any error messages come out in the same order as they would from {@link TaskListDecoder}.
+ */
+public class ParallelTaskListLoader {
+    /** Largest file that can be mapped into a single buffer */
+    public static final long MAX_FILE_SIZE_IN_BYTES = Integer.MAX_VALUE;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /** Tasks and error messages decoded from one chunk of the file */
+    private static class DecodedChunk {
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+    }
+
+    /**
+     * Loads the storage file at the given path, which must be in the text format.
+     *
+     * @param path Path of the storage file, at most {@link #MAX_FILE_SIZE_IN_BYTES} in size
+     * @return TaskList containing the decoded tasks, in the order they appear in the file
+     * @throws IOException If the file could not be read
+     */
+    public static TaskList loadTaskList(Path path) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        final int numChunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        final List<DecodedChunk> decodedChunks = splitIntoChunks(buffer, numChunks).parallelStream()
+                .map(chunk -> decodeChunk(buffer, chunk[0], chunk[1]))
+                .collect(Collectors.toList());
+
+        int numTasks = 0;
+        for (DecodedChunk decodedChunk : decodedChunks) {
+            numTasks += decodedChunk.tasks.size();
+        }
+        final List<Task> tasks = new ArrayList<>(numTasks);
+        for (DecodedChunk decodedChunk : decodedChunks) {
+            tasks.addAll(decodedChunk.tasks);
+            for (String errorMessage : decodedChunk.errorMessages) {
+                Ui.showMessageFramedWithDivider(errorMessage);
+            }
+        }
+        return new TaskList(tasks);
+    }
+
+    /**
+     * Returns the [start, end) byte ranges of roughly equal chunks, each ending just after a new line
+     * (or at the end of the file), so that no line is split across chunks.
+     */
+    private static List<int[]> splitIntoChunks(ByteBuffer buffer, int numChunks) {
+        final int size = buffer.limit();
+        final int targetChunkSize = Math.max(1, size / numChunks);
+        final List<int[]> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < size) {
+            int end = Math.min(size, start + targetChunkSize);
+            while (end < size && buffer.get(end - 1) != NEW_LINE) {
+                end++;
+            }
+            chunks.add(new int[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static DecodedChunk decodeChunk(ByteBuffer buffer, int start, int end) {
+        final byte[] bytes = new byte[end - start];
+        buffer.duplicate().position(start).get(bytes);
+
+        final Charset charset = Charset.defaultCharset();
+        final DecodedChunk decodedChunk = new DecodedChunk();
+        final EncodedLine line = new EncodedLine(ByteBuffer.wrap(bytes), 0, 0);
+        int lineStart = 0;
+        for (int i = 0; i <= bytes.length; i++) {
+            if (i < bytes.length && bytes[i] != NEW_LINE) {
+                continue;
+            }
+            int lineEnd = i;
+            if (lineEnd > lineStart && bytes[lineEnd - 1] == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                line.moveTo(lineStart, lineEnd);
+                decodeLineInto(line, charset, decodedChunk);
+            }
+            lineStart = i + 1;
+        }
+        return decodedChunk;
+    }
+
+    /** Decodes the line straight from its bytes, so that only the description of the task is made a String */
+    private static void decodeLineInto(EncodedLine encodedTask, Charset charset, DecodedChunk decodedChunk) {
+        final Task task = TaskListDecoder.decodeTask(encodedTask, charset);
+        if (task != null) {
+            decodedChunk.tasks.add(task);
+        } else if (!encodedTask.isBlank(charset)) {
+            decodedChunk.errorMessages.add(new InvalidStorageDataException(encodedTask.decode(charset)).toString());
+        }
+    }
+}
@@ -3,30 +3,93 @@ package duke.storage;
 import duke.data.task.TaskList;
 import duke.storage.exceptions.CannotReadFromFileException;
 import duke.storage.exceptions.UnableToWriteToFileException;
-import duke.ui.Ui;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Handles all read/write operations to the storage file containing user data of Tasks.
+ * In journaling mode, changes are appended to a journal file instead, which is folded back into the storage file
+ * by a background compaction once it grows past a size threshold, in proportion to the size of the storage file.
  */
 public class Storage {
 
     /** File path to store task data */
     private static final String DATA_FILE_PATH = "./data/dude.txt";
+    /** File path the storage file is written to before it replaces the current one */
+    private static final String TEMP_DATA_FILE_PATH = "./data/dude.txt.tmp";
+    /** File path of the journal of changes made since the storage file was last written */
+    private static final String JOURNAL_FILE_PATH = "./data/dude.journal";
+    /** File path of the journal that is being folded into the storage file by a compaction */
+    private static final String COMPACTING_JOURNAL_FILE_PATH = "./data/dude.journal.old";
+    /** File path of the storage file written by a compaction, before it replaces the current one */
+    private static final String NEXT_DATA_FILE_PATH = "./data/dude.txt.next";
+    /** Size of the journal file after which it is folded into the storage file, for small storage files */
+    private static final long MIN_JOURNAL_COMPACTION_THRESHOLD_IN_BYTES = 64 * 1024;
+    /**
+     * Fraction of the size of the storage file that the journal file may grow to before it is folded in, so that the
+     * cost of rewriting the storage file is spread over a number of changes that grows with it
+     */
+    private static final long JOURNAL_COMPACTION_THRESHOLD_DIVISOR = 4;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    /** Size of the storage file from which it is loaded by the parallel memory-mapped loader */
+    private static final long PARALLEL_LOAD_THRESHOLD_IN_BYTES = 1024 * 1024;
 
     private static TaskListEncoder taskListEncoder;
     private static TaskListDecoder taskListDecoder;
 
+    private final boolean isJournalingEnabled;
+    private StorageFormat format;
+    private boolean isLazyLoadingEnabled;
+    private TaskListJournal journal;
+    private Thread compactionThread;
+    private volatile boolean hasCompactionFailed;
+    /** Number of valid tasks in the storage file, which the journal is recorded against */
+    private int numTasksInDataFile;
+    private volatile long dataFileSizeInBytes;
+
 
     public Storage() {
+        this(false, null);
+    }
+
+    /**
+     * Constructs Storage
+     *
+     * @param isJournalingEnabled True if changes should be appended to the journal instead of rewriting the file
+     * @param format Format to write the storage file in, or null to keep the format of the existing file
+     */
+    public Storage(boolean isJournalingEnabled, StorageFormat format) {
         this.taskListEncoder = new TaskListEncoder();
         this.taskListDecoder = new TaskListDecoder();
+        this.isJournalingEnabled = isJournalingEnabled;
+        this.format = format;
+    }
+
+    /**
+     * Makes subsequent loads decode tasks from a text storage file only when they are accessed, so that the time to
+     * load does not depend on how many tasks are stored. Binary storage files are still loaded in full.
+     * The {@link LazyTaskStore} decodes tasks from a copy of the file read into memory on loading, so saves and
+     * compactions can replace the file as usual.
+     */
+    public void enableLazyLoading() {
+        this.isLazyLoadingEnabled = true;
     }
 
     /**
@@ -49,26 +112,193 @@ public class Storage {
 
     /**
      * Rewrite file with updated list of tasks
+     * The tasks are streamed into a temporary file which then replaces the storage file, so that the storage file is
+     * never left partially written.
      *
      * @param tasks TaskList containing all the tasks to be written into the storage file
      * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file
      */
     public void rewriteTaskListToFile(TaskList tasks) throws UnableToWriteToFileException {
         createFileIfDoesNotExist();
+        final Path temp = Paths.get(TEMP_DATA_FILE_PATH);
         try {
-            FileWriter fw = new FileWriter(DATA_FILE_PATH);
-            List<String> encodedTaskList = new TaskListEncoder().encodeTaskList(tasks);
-            for (String encodedTask : encodedTaskList) {
-                fw.write(encodedTask + Ui.LS);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel),
+                        WRITE_BUFFER_SIZE);
+                synchronized (tasks) {
+                    encodeTaskListTo(tasks, out);
+                }
+                channel.force(false);
             }
-            fw.close();
+            replaceFile(temp, Paths.get(DATA_FILE_PATH));
         } catch (IOException e) {
            throw new UnableToWriteToFileException();
         }
     }
 
+    /**
+     * Encodes the task list into the given stream in the format of the storage file, then flushes the stream.
+     */
+    private void encodeTaskListTo(TaskList tasks, OutputStream out) throws IOException {
+        if (format == StorageFormat.BINARY) {
+            final DataOutputStream dataOut = new DataOutputStream(out);
+            taskListEncoder.encodeTaskListToBinary(tasks, dataOut);
+            dataOut.flush();
+        } else {
+            final Writer writer = new OutputStreamWriter(out);
+            taskListEncoder.encodeTaskListTo(tasks, writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Rewrites the storage file in the given format. Subsequent saves will also use this format.
+     * In journaling mode, the journal is folded into the rewritten file by a compaction.
+     *
+     * @param tasks TaskList containing all the tasks
+     * @param format Format to convert the storage file to
+     * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file
+     */
+    public void migrateTaskList(TaskList tasks, StorageFormat format) throws UnableToWriteToFileException {
+        this.format = format;
+        if (journal == null) {
+            rewriteTaskListToFile(tasks);
+            return;
+        }
+
+        synchronized (tasks) {
+            journal.flush();
+            startCompaction();
+        }
+        waitForCompaction();
+        if (hasCompactionFailed) {
+            hasCompactionFailed = false;
+            throw new UnableToWriteToFileException();
+        }
+    }
+
+    /**
+     * Saves the changes made to the task list.
+     * In journaling mode, the changes recorded in the journal are written and a compaction is started if the journal
+     * is too large. Otherwise, the whole file is rewritten.
+     * The task list is locked while it is being read, so this can be called from a background thread.
+     *
+     * @param tasks TaskList containing all the tasks
+     * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file
+     */
+    public void saveTaskList(TaskList tasks) throws UnableToWriteToFileException {
+        if (journal == null) {
+            rewriteTaskListToFile(tasks);
+            return;
+        }
+
+        synchronized (tasks) {
+            journal.flush();
+            if (hasCompactionFailed) {
+                hasCompactionFailed = false;
+                throw new UnableToWriteToFileException();
+            }
+            if (journal.getSizeInBytes() > getJournalCompactionThreshold()) {
+                startCompaction();
+            }
+        }
+    }
+
+    private long getJournalCompactionThreshold() {
+        return Math.max(MIN_JOURNAL_COMPACTION_THRESHOLD_IN_BYTES,
+                dataFileSizeInBytes / JOURNAL_COMPACTION_THRESHOLD_DIVISOR);
+    }
+
+    /**
+     * Folds the journal into the storage file on a background thread.
+     * Only the journal is rotated on the calling thread, so that new changes go to a fresh journal. The background
+     * thread then folds the rotated journal into the current storage file, streaming it into a new one with
+     * {@link JournalCompactor}, without reading the task list or holding its lock.
+     * The compaction is committed by deleting the rotated journal, after the new storage file has been fully written.
+     */
+    private void startCompaction() throws UnableToWriteToFileException {
+        waitForCompaction();
+        journal.rotateTo(Paths.get(COMPACTING_JOURNAL_FILE_PATH));
+
+        final StorageFormat targetFormat = format;
+        compactionThread = new Thread(() -> {
+            try {
+                numTasksInDataFile = foldJournalIntoNextDataFile(targetFormat);
+                dataFileSizeInBytes = Files.size(Paths.get(NEXT_DATA_FILE_PATH));
+                Files.delete(Paths.get(COMPACTING_JOURNAL_FILE_PATH));
+                replaceDataFileWithNext();
+            } catch (IOException e) {
+                hasCompactionFailed = true;
+            }
+        }, "storage-compaction");
+        compactionThread.start();
+    }
+
+    /**
+     * Writes the storage file with the rotated journal folded into it to the next storage file, and syncs it.
+     *
+     * @return Number of tasks written
+     */
+    private int foldJournalIntoNextDataFile(StorageFormat targetFormat) throws IOException {
+        final JournalCompactor compactor = new JournalCompactor(numTasksInDataFile,
+                Files.readAllLines(Paths.get(COMPACTING_JOURNAL_FILE_PATH)));
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(DATA_FILE_PATH), READ_BUFFER_SIZE);
+                FileChannel channel = FileChannel.open(Paths.get(NEXT_DATA_FILE_PATH), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final int numTasks = compactor.writeTo(new TaskListDecoder.TaskReader(in),
+                    new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE), targetFormat);
+            channel.force(false);
+            return numTasks;
+        }
+    }
+
+    /** Blocks until the compaction in progress, if any, has completed. */
+    private void waitForCompaction() {
+        if (compactionThread == null) {
+            return;
+        }
+        try {
+            compactionThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        compactionThread = null;
+    }
+
+    private void replaceDataFileWithNext() throws IOException {
+        replaceFile(Paths.get(NEXT_DATA_FILE_PATH), Paths.get(DATA_FILE_PATH));
+    }
+
+    /** Replaces the target file with the source file, atomically if the file system supports it */
+    private void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Brings the files back to a consistent state if Dude was stopped in the middle of a compaction.
+     * While the rotated journal exists, the new storage file is incomplete and is discarded. Once the rotated journal
+     * is deleted, the new storage file is complete and only needs to replace the current one.
+     */
+    private void recoverFromInterruptedCompaction() throws IOException {
+        final Path next = Paths.get(NEXT_DATA_FILE_PATH);
+        if (Files.exists(Paths.get(COMPACTING_JOURNAL_FILE_PATH))) {
+            Files.deleteIfExists(next);
+        } else if (Files.exists(next)) {
+            replaceDataFileWithNext();
+        }
+    }
+
     /**
      * Load tasks from file into TaskList
+     * Large files in the text format are decoded in parallel by {@link ParallelTaskListLoader}, unless lazy loading is
+     * enabled, in which case tasks are only decoded when they are accessed.
+     * In journaling mode, the journals are replayed on top of the tasks in the file and the journal is opened to
+     * record subsequent changes to the returned TaskList.
      *
      * @return TaskList containing tasks stored in the storage file
      * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file (To create the storage file if it does not exist)
@@ -76,18 +306,61 @@ public class Storage {
      */
     public TaskList loadTasksFromFile() throws UnableToWriteToFileException, CannotReadFromFileException {
         createFileIfDoesNotExist();
+        if (isJournalingEnabled) {
+            try {
+                recoverFromInterruptedCompaction();
+            } catch (IOException e) {
+                throw new UnableToWriteToFileException();
+            }
+        }
+
         File f = new File(DATA_FILE_PATH);
-        final List<String> encodedTaskList = new ArrayList<String>();
-        try {
-            Scanner s = new Scanner(f);
-            while (s.hasNext()) {
-                encodedTaskList.add(s.nextLine());
+        final TaskList tasks;
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(f), READ_BUFFER_SIZE)) {
+            final StorageFormat fileFormat = TaskListDecoder.detectFormat(in);
+            if (format == null) {
+                format = fileFormat;
+            }
+            final boolean isMappable = fileFormat == StorageFormat.TEXT
+                    && f.length() <= ParallelTaskListLoader.MAX_FILE_SIZE_IN_BYTES;
+            if (isMappable && isLazyLoadingEnabled) {
+                final LazyTaskStore store = LazyTaskStore.load(f.toPath());
+                tasks = TaskList.backedBy(store, store.getFirstFreeId());
+            } else if (isMappable && f.length() >= PARALLEL_LOAD_THRESHOLD_IN_BYTES) {
+                tasks = ParallelTaskListLoader.loadTaskList(f.toPath());
+            } else {
+                tasks = TaskListDecoder.decodeTaskList(in);
             }
-            return taskListDecoder.decodeTaskList(encodedTaskList);
         } catch (IOException e) {
             throw new CannotReadFromFileException();
         }
+
+        if (isJournalingEnabled) {
+            numTasksInDataFile = tasks.getNumTasks();
+            dataFileSizeInBytes = f.length();
+            TaskListJournal.replay(tasks, Paths.get(COMPACTING_JOURNAL_FILE_PATH));
+            TaskListJournal.replay(tasks, Paths.get(JOURNAL_FILE_PATH));
+            journal = new TaskListJournal(Paths.get(JOURNAL_FILE_PATH));
+            journal.open();
+            tasks.addListener(journal);
+        }
+        return tasks;
     }
 
+    /**
+     * Waits for any compaction in progress and closes the journal. To be called before the application exits.
+     *
+     * @throws UnableToWriteToFileException If the journal or the compacted storage file could not be written
+     */
+    public void close() throws UnableToWriteToFileException {
+        waitForCompaction();
+        if (journal != null) {
+            journal.close();
+        }
+        if (hasCompactionFailed) {
+            hasCompactionFailed = false;
+            throw new UnableToWriteToFileException();
+        }
+    }
 
 }
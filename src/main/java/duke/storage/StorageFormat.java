@@ -0,0 +1,39 @@
+package duke.storage;
+
+/**
+ * Represents the formats that the storage file can be written in.
+ * The binary format starts with a magic number, so the format of an existing file can always be detected.
+ */
+public enum StorageFormat {
+    /** One task per line, in the form "T | 1 | description | 2021-09-10T23:59" */
+    TEXT,
+    /**
+     * Header of magic number, version byte and varint task count, followed by one record per task: a type byte whose
+     * highest bit is the done status, the varint length and UTF-8 bytes of the description and, for Deadline and Event,
+     * the date and time as a long of epoch seconds.
+     */
+    BINARY;
+
+    static final int BINARY_MAGIC_NUMBER = 0xD0DE7A5C;
+    static final byte BINARY_VERSION = 1;
+    static final byte BINARY_TYPE_TODO = 0;
+    static final byte BINARY_TYPE_DEADLINE = 1;
+    static final byte BINARY_TYPE_EVENT = 2;
+    static final int BINARY_DONE_FLAG = 0x80;
+    static final int BINARY_TYPE_MASK = 0x7F;
+
+    /**
+     * Returns the format with the given name, e.g. "text" or "binary".
+     *
+     * @param name Name of the format, case-insensitive
+     * @param defaultFormat Format to return if the name is not recognised
+     */
+    public static StorageFormat fromName(String name, StorageFormat defaultFormat) {
+        for (StorageFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return defaultFormat;
+    }
+}
@@ -8,16 +8,42 @@ import duke.data.task.Todo;
 import duke.storage.exceptions.InvalidStorageDataException;
 import duke.ui.Ui;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Decodes the data from the storage file into corresponding Tasks.
  */
 public class TaskListDecoder {
+    private static final String BINARY_HEADER_DESCRIPTION = "(binary file header)";
+    private static final String BINARY_RECORD_DESCRIPTION = "(binary record of task %d of %d)";
+    private static final String FIELD_SEPARATOR = " | ";
+    private static final char TODO_ACRONYM = 'T';
+    private static final char DEADLINE_ACRONYM = 'D';
+    private static final char EVENT_ACRONYM = 'E';
+    private static final int TYPE_INDEX = 0;
+    private static final int DONE_STATUS_INDEX = "T | ".length();
+    private static final int DESCRIPTION_START = "T | 0 | ".length();
+    private static final int DATE_TIME_LENGTH = "yyyy-MM-ddTHH:mm".length();
+    private static final int DATE_TIME_WITH_SECONDS_LENGTH = "yyyy-MM-ddTHH:mm:ss".length();
+    /** Upper bound on the capacity reserved up front, so that a corrupted task count cannot exhaust memory */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
 
     /**
      * Decodes the data from the storage file into a TaskList
@@ -28,64 +54,448 @@ public class TaskListDecoder {
     public static TaskList decodeTaskList(List<String> encodedTaskList) {
         final ArrayList<Task> taskList = new ArrayList<>();
         for (String encodedTask : encodedTaskList) {
-            try {
-                taskList.add(decodeTaskFromString(encodedTask));
-            } catch (InvalidStorageDataException e) {
-                Ui.showMessageFramedWithDivider(e.toString());
-            } catch (DateTimeParseException e) {
+            final Task task = decodeTask(encodedTask);
+            if (task == null) {
                 Ui.showMessageFramedWithDivider(new InvalidStorageDataException(encodedTask).toString());
+            } else {
+                taskList.add(task);
             }
         }
         return new TaskList(taskList);
     }
 
     /**
-     * Decodes each line of data from the storage file into a specific Task
+     * Detects the format of the storage file from its first bytes, without consuming them from the stream.
+     *
+     * @param in Stream positioned at the start of the storage file
+     * @return BINARY if the stream starts with the binary magic number, TEXT otherwise
+     * @throws IOException If the stream could not be read
+     */
+    public static StorageFormat detectFormat(BufferedInputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        final byte[] header = in.readNBytes(Integer.BYTES);
+        in.reset();
+        if (header.length < Integer.BYTES) {
+            return StorageFormat.TEXT;
+        }
+        final int magicNumber = ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16)
+                | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+        return (magicNumber == StorageFormat.BINARY_MAGIC_NUMBER) ? StorageFormat.BINARY : StorageFormat.TEXT;
+    }
+
+    /**
+     * Decodes the storage file into a TaskList, detecting whether it is in the text or binary format.
+     * Lines of a text file are decoded from their bytes as they are read, so only the descriptions are made Strings.
+     *
+     * @param in Stream positioned at the start of the storage file
+     * @return TaskList List of tasks represented in the TaskList class customised for the application
+     * @throws IOException If the stream could not be read
+     */
+    public static TaskList decodeTaskList(BufferedInputStream in) throws IOException {
+        if (detectFormat(in) == StorageFormat.BINARY) {
+            return decodeBinaryTaskList(new DataInputStream(in));
+        }
+
+        final ArrayList<Task> taskList = new ArrayList<>();
+        final Charset charset = Charset.defaultCharset();
+        final LineReader reader = new LineReader(in);
+        EncodedLine line;
+        while ((line = reader.next()) != null) {
+            final Task task = decodeTask(line, charset);
+            if (task != null) {
+                taskList.add(task);
+            } else if (!line.isBlank(charset)) {
+                Ui.showMessageFramedWithDivider(new InvalidStorageDataException(line.decode(charset)).toString());
+            }
+        }
+        return new TaskList(taskList);
+    }
+
+    /**
+     * Reader of the lines of a text storage file as bytes, through a buffer that grows to fit the longest line.
+     * Lines end at a new line, leaving out a carriage return before it, like in {@link ParallelTaskListLoader}.
+     */
+    private static class LineReader {
+        private static final int INITIAL_BUFFER_SIZE = 8192;
+
+        private final InputStream in;
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private EncodedLine line = new EncodedLine(ByteBuffer.wrap(buffer), 0, 0);
+        /** Start of the bytes in the buffer that are not yet returned in a line */
+        private int unreadStart;
+        private int unreadEnd;
+        private boolean isEndOfStream;
+
+        private LineReader(InputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Returns the next line, or null once there are no more. The line is only valid until the next call.
+         *
+         * @throws IOException If the stream could not be read
+         */
+        private EncodedLine next() throws IOException {
+            int searchStart = unreadStart;
+            while (true) {
+                for (int i = searchStart; i < unreadEnd; i++) {
+                    if (buffer[i] == NEW_LINE) {
+                        return takeLine(i, i + 1);
+                    }
+                }
+                if (isEndOfStream) {
+                    return (unreadStart < unreadEnd) ? takeLine(unreadEnd, unreadEnd) : null;
+                }
+                //The bytes searched so far are moved to the front of the buffer
+                searchStart = unreadEnd - unreadStart;
+                fill();
+            }
+        }
+
+        private EncodedLine takeLine(int lineEnd, int nextLineStart) {
+            final int lineStart = unreadStart;
+            unreadStart = nextLineStart;
+            final boolean hasCarriageReturn = lineEnd > lineStart && buffer[lineEnd - 1] == CARRIAGE_RETURN;
+            line.moveTo(lineStart, hasCarriageReturn ? lineEnd - 1 : lineEnd);
+            return line;
+        }
+
+        /** Moves the unread bytes to the front of the buffer, growing it if they fill it, then reads more after them */
+        private void fill() throws IOException {
+            final int numUnread = unreadEnd - unreadStart;
+            if (numUnread == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                line = new EncodedLine(ByteBuffer.wrap(buffer), 0, 0);
+            } else {
+                System.arraycopy(buffer, unreadStart, buffer, 0, numUnread);
+            }
+            unreadStart = 0;
+            unreadEnd = numUnread;
+
+            final int numRead = in.read(buffer, unreadEnd, buffer.length - unreadEnd);
+            if (numRead < 0) {
+                isEndOfStream = true;
+            } else {
+                unreadEnd += numRead;
+            }
+        }
+    }
+
+    /**
+     * Decodes a storage file in the binary format described in {@link StorageFormat#BINARY} into a TaskList.
+     * If the file is truncated or contains an invalid record, the tasks before it are kept and the rest are skipped.
+     *
+     * @param in Stream positioned at the start of the storage file
+     * @return TaskList List of tasks represented in the TaskList class customised for the application
+     * @throws IOException If the stream could not be read
+     */
+    public static TaskList decodeBinaryTaskList(DataInputStream in) throws IOException {
+        final ArrayList<Task> taskList = new ArrayList<>();
+        int numTasks = 0;
+        try {
+            if (in.readInt() != StorageFormat.BINARY_MAGIC_NUMBER || in.readByte() != StorageFormat.BINARY_VERSION) {
+                throw new InvalidStorageDataException(BINARY_HEADER_DESCRIPTION);
+            }
+            numTasks = readVarInt(in);
+            taskList.ensureCapacity(Math.min(numTasks, MAX_INITIAL_CAPACITY));
+            for (int i = 0; i < numTasks; i++) {
+                taskList.add(decodeTaskFromBinary(in, i + 1, numTasks));
+            }
+        } catch (InvalidStorageDataException e) {
+            Ui.showMessageFramedWithDivider(e.toString());
+        } catch (EOFException e) {
+            Ui.showMessageFramedWithDivider(new InvalidStorageDataException(
+                    String.format(BINARY_RECORD_DESCRIPTION, taskList.size() + 1, numTasks)).toString());
+        }
+        return new TaskList(taskList);
+    }
+
+    /**
+     * Reader of the tasks in a storage file one at a time, in either format, so that a large file can be processed
+     * without holding all of its tasks in memory.
+     * Invalid data is skipped in the same way as by {@link #decodeTaskList(BufferedInputStream)}, but not reported, as
+     * it has already been reported when the file was loaded.
+     */
+    static class TaskReader {
+        private final Charset charset = Charset.defaultCharset();
+        private final LineReader textReader;
+        private final DataInputStream binaryIn;
+        private int numTasks;
+        private int numTasksRead;
+
+        /**
+         * Constructs the reader, detecting the format of the storage file.
+         *
+         * @param in Stream positioned at the start of the storage file
+         * @throws IOException If the stream could not be read
+         */
+        TaskReader(BufferedInputStream in) throws IOException {
+            if (detectFormat(in) == StorageFormat.BINARY) {
+                textReader = null;
+                binaryIn = new DataInputStream(in);
+                try {
+                    if (binaryIn.readInt() == StorageFormat.BINARY_MAGIC_NUMBER
+                            && binaryIn.readByte() == StorageFormat.BINARY_VERSION) {
+                        numTasks = readVarInt(binaryIn);
+                    }
+                } catch (InvalidStorageDataException | EOFException e) {
+                    numTasks = 0;
+                }
+            } else {
+                textReader = new LineReader(in);
+                binaryIn = null;
+            }
+        }
+
+        /**
+         * Returns the next valid task in the file, or null once there are no more.
+         *
+         * @throws IOException If the stream could not be read
+         */
+        Task next() throws IOException {
+            return (textReader != null) ? nextFromText() : nextFromBinary();
+        }
+
+        private Task nextFromText() throws IOException {
+            EncodedLine line;
+            while ((line = textReader.next()) != null) {
+                final Task task = decodeTask(line, charset);
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        /** Like decodeBinaryTaskList, stops at the first invalid or truncated record */
+        private Task nextFromBinary() throws IOException {
+            if (numTasksRead >= numTasks) {
+                return null;
+            }
+            numTasksRead++;
+            try {
+                return decodeTaskFromBinary(binaryIn, numTasksRead, numTasks);
+            } catch (InvalidStorageDataException | EOFException e) {
+                numTasks = 0;
+                return null;
+            }
+        }
+    }
+
+    private static Task decodeTaskFromBinary(DataInputStream in, int taskNum, int numTasks)
+            throws IOException, InvalidStorageDataException {
+        final int typeAndDone = in.readUnsignedByte();
+        final boolean isDone = (typeAndDone & StorageFormat.BINARY_DONE_FLAG) != 0;
+        final int descriptionLength = readVarInt(in);
+        if (descriptionLength < 0) {
+            throw new InvalidStorageDataException(String.format(BINARY_RECORD_DESCRIPTION, taskNum, numTasks));
+        }
+        final byte[] description = new byte[descriptionLength];
+        in.readFully(description);
+        final String descriptionString = new String(description, StandardCharsets.UTF_8);
+
+        switch (typeAndDone & StorageFormat.BINARY_TYPE_MASK) {
+        case StorageFormat.BINARY_TYPE_TODO:
+            return new Todo(descriptionString, isDone);
+        case StorageFormat.BINARY_TYPE_DEADLINE:
+            return new Deadline(descriptionString, fromEpochSecond(in.readLong()), isDone);
+        case StorageFormat.BINARY_TYPE_EVENT:
+            return new Event(descriptionString, fromEpochSecond(in.readLong()), isDone);
+        default:
+            throw new InvalidStorageDataException(String.format(BINARY_RECORD_DESCRIPTION, taskNum, numTasks));
+        }
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException, InvalidStorageDataException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new InvalidStorageDataException(BINARY_HEADER_DESCRIPTION);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Decodes each line of data from the storage file into a specific Task.
+     * The line is scanned once by index, without regular expressions, and dates in the fixed layout written by
+     * {@link LocalDateTime#toString()} are parsed by hand. Malformed lines are reported by returning null rather than
+     * by throwing.
      *
-     * @param encodedTask String representing an encoded task
-     * @return Subclass of Task that represents the specific task that is encoded
-     * @throws InvalidStorageDataException If encoded task string is of invalid syntax
-     * @throws DateTimeParseException If encoded date and time string is of invalid syntax
+     * @param encodedTask String representing an encoded task, in the form "T | 1/0 | description | dateAndTime"
+     * @return Subclass of Task that represents the specific task that is encoded, or null if the line is malformed
      */
-    private static Task decodeTaskFromString(String encodedTask) throws InvalidStorageDataException, DateTimeParseException {
-        final Task task;
-        final boolean isDone;
-        final String[] words = encodedTask.split(" \\| "); //Length = 3 for Todo; 4 for Deadline, Event
-
-        switch (words[1]) {
-        case "0":
-            isDone = false;
-            break;
-        case "1":
-            isDone = true;
-            break;
-        default: //if second letter (done status) is not 0 or 1
-            throw new InvalidStorageDataException(encodedTask);
-        }
-
-        switch (words[0]) {
-        case Task.TODO_ACRONYM:
-            return new Todo(words[2], isDone);
-        case Task.DEADLINE_ACRONYM:
-            return new Deadline(words[2], parseDateTimeFromString(words[3]), isDone);
-        case Task.EVENT_ACRONYM:
-            return new Event(words[2], parseDateTimeFromString(words[3]), isDone);
-        default: //if first letter is not any of the valid task acronyms
-            throw new InvalidStorageDataException(encodedTask);
+    static Task decodeTask(String encodedTask) {
+        final int descriptionEnd = findDescriptionEnd(encodedTask);
+        if (descriptionEnd < 0) {
+            return null;
         }
+        return createTask(encodedTask, descriptionEnd, encodedTask.substring(DESCRIPTION_START, descriptionEnd));
     }
 
     /**
-     * Parses date and time string from the storage file into a LocalDateTime object
+     * Decodes a line of the storage file into a specific Task like {@link #decodeTask(String)}, but straight from
+     * the bytes of the line, so that its description is the only String made.
      *
-     * @param dateAndTimeString Date and time represented in string
-     * @return LocalDateTime object containing date and time details
-     * @throws DateTimeParseException If encoded date and time string is of invalid syntax
+     * @param encodedTask Line of the storage file, in the form "T | 1/0 | description | dateAndTime"
+     * @param charset Charset the storage file is written in
+     * @return Subclass of Task that represents the specific task that is encoded, or null if the line is malformed
      */
-    private static LocalDateTime parseDateTimeFromString(String dateAndTimeString) throws DateTimeParseException {
-        final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        return LocalDateTime.parse(dateAndTimeString);
+    static Task decodeTask(EncodedLine encodedTask, Charset charset) {
+        final int descriptionEnd = findDescriptionEnd(encodedTask);
+        if (descriptionEnd < 0) {
+            return null;
+        }
+        return createTask(encodedTask, descriptionEnd, encodedTask.decode(DESCRIPTION_START, descriptionEnd, charset));
     }
 
+    /** Makes the task of a line whose description was checked, or returns null if its date and time is invalid */
+    private static Task createTask(CharSequence encodedTask, int descriptionEnd, String description) {
+        final boolean isDone = encodedTask.charAt(DONE_STATUS_INDEX) == '1';
+        final char type = encodedTask.charAt(TYPE_INDEX);
+        if (type == TODO_ACRONYM) {
+            return new Todo(description, isDone);
+        }
+
+        final LocalDateTime dateAndTime = parseDateTimeAfter(encodedTask, descriptionEnd);
+        if (dateAndTime == null) {
+            return null;
+        }
+        return (type == DEADLINE_ACRONYM)
+                ? new Deadline(description, dateAndTime, isDone)
+                : new Event(description, dateAndTime, isDone);
+    }
+
+    /**
+     * Returns true if the line would be decoded into a task by {@link #decodeTask(String)}, without making the task,
+     * e.g. to check the lines of a storage file that is only decoded when its tasks are accessed.
+     *
+     * @param encodedTask Line of the storage file, in the form "T | 1/0 | description | dateAndTime"
+     */
+    static boolean isValidTask(CharSequence encodedTask) {
+        final int descriptionEnd = findDescriptionEnd(encodedTask);
+        if (descriptionEnd < 0) {
+            return false;
+        }
+        return encodedTask.charAt(TYPE_INDEX) == TODO_ACRONYM || parseDateTimeAfter(encodedTask, descriptionEnd) != null;
+    }
+
+    /**
+     * Checks the type, done status and description of the encoded task, and that a Deadline or Event has a field
+     * after its description, which is its date and time.
+     * The type and done status are single characters, so the description always starts at the same index.
+     *
+     * @return Index at which the description ends, or -1 if the line is malformed
+     */
+    private static int findDescriptionEnd(CharSequence encodedTask) {
+        if (encodedTask.length() < DESCRIPTION_START
+                || !isSeparatorAt(encodedTask, TYPE_INDEX + 1) || !isSeparatorAt(encodedTask, DONE_STATUS_INDEX + 1)) {
+            return -1;
+        }
+        final char done = encodedTask.charAt(DONE_STATUS_INDEX);
+        if (done != '0' && done != '1') {
+            return -1;
+        }
+
+        final int descriptionEnd = indexOfSeparator(encodedTask, DESCRIPTION_START);
+        switch (encodedTask.charAt(TYPE_INDEX)) {
+        case TODO_ACRONYM:
+            if (descriptionEnd < 0) {
+                return (DESCRIPTION_START < encodedTask.length()) ? encodedTask.length() : -1;
+            }
+            return descriptionEnd;
+        case DEADLINE_ACRONYM:
+        case EVENT_ACRONYM:
+            return descriptionEnd; //-1 if there is no date and time
+        default:
+            return -1;
+        }
+    }
+
+    /** Returns the date and time in the field after the description, or null if it is invalid */
+    private static LocalDateTime parseDateTimeAfter(CharSequence encodedTask, int descriptionEnd) {
+        final int dateStart = descriptionEnd + FIELD_SEPARATOR.length();
+        int dateEnd = indexOfSeparator(encodedTask, dateStart);
+        if (dateEnd < 0) {
+            dateEnd = encodedTask.length();
+        }
+        return parseDateTime(encodedTask, dateStart, dateEnd);
+    }
+
+    private static boolean isSeparatorAt(CharSequence s, int index) {
+        for (int i = 0; i < FIELD_SEPARATOR.length(); i++) {
+            if (s.charAt(index + i) != FIELD_SEPARATOR.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the index of the first field separator from the given index, or -1 if there is none */
+    private static int indexOfSeparator(CharSequence s, int fromIndex) {
+        if (s instanceof String) {
+            return ((String) s).indexOf(FIELD_SEPARATOR, fromIndex);
+        }
+        if (s instanceof EncodedLine) {
+            return ((EncodedLine) s).indexOf(FIELD_SEPARATOR, fromIndex);
+        }
+        for (int i = fromIndex; i <= s.length() - FIELD_SEPARATOR.length(); i++) {
+            if (isSeparatorAt(s, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses the date and time in the given range of the string, which is expected to be in the layout
+     * "yyyy-MM-ddTHH:mm" or "yyyy-MM-ddTHH:mm:ss" written by {@link LocalDateTime#toString()}.
+     * Any other layout accepted by {@link LocalDateTime#parse(CharSequence)} is handed to it instead.
+     *
+     * @return LocalDateTime object containing date and time details, or null if the date and time is invalid
+     */
+    private static LocalDateTime parseDateTime(CharSequence s, int start, int end) {
+        final int length = end - start;
+        if ((length == DATE_TIME_LENGTH || length == DATE_TIME_WITH_SECONDS_LENGTH)
+                && s.charAt(start + 4) == '-' && s.charAt(start + 7) == '-' && s.charAt(start + 10) == 'T'
+                && s.charAt(start + 13) == ':' && (length == DATE_TIME_LENGTH || s.charAt(start + 16) == ':')) {
+            final int year = parseDigits(s, start, 4);
+            final int month = parseDigits(s, start + 5, 2);
+            final int day = parseDigits(s, start + 8, 2);
+            final int hour = parseDigits(s, start + 11, 2);
+            final int minute = parseDigits(s, start + 14, 2);
+            final int second = (length == DATE_TIME_LENGTH) ? 0 : parseDigits(s, start + 17, 2);
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                    || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+                return null;
+            }
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        }
+
+        try {
+            return LocalDateTime.parse(s.subSequence(start, end));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Returns the value of the given number of decimal digits starting at the index, or -1 if any is not a digit */
+    private static int parseDigits(CharSequence s, int start, int numDigits) {
+        int value = 0;
+        for (int i = start; i < start + numDigits; i++) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
 
 }
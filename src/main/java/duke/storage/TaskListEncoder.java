@@ -1,8 +1,17 @@
 package duke.storage;
 
+import duke.data.task.Deadline;
+import duke.data.task.Event;
 import duke.data.task.Task;
 import duke.data.task.TaskList;
+import duke.ui.Ui;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,4 +36,102 @@ public class TaskListEncoder {
         return encodedTaskList;
     }
 
+    /**
+     * Encodes task list directly into the given writer, one encoded task per line, without first building the list
+     * of encoded tasks.
+     *
+     * @param tasks TaskList containing tasks to be encoded
+     * @param writer Writer to write the encoded tasks to
+     * @throws IOException If the writer could not be written to
+     */
+    public void encodeTaskListTo(TaskList tasks, Writer writer) throws IOException {
+        for (Task task : tasks.getTasks()) {
+            encodeTaskTo(task, writer);
+        }
+    }
+
+    /**
+     * Encodes a single task into the given writer, as one line of the storage file.
+     *
+     * @param task Task to be encoded
+     * @param writer Writer to write the encoded task to
+     * @throws IOException If the writer could not be written to
+     */
+    void encodeTaskTo(Task task, Writer writer) throws IOException {
+        writer.write(task.toTextFileString());
+        writer.write(Ui.LS);
+    }
+
+    /**
+     * Encodes task list into the binary storage format described in {@link StorageFormat#BINARY}.
+     *
+     * @param tasks TaskList containing tasks to be encoded
+     * @param out Stream to write the encoded tasks to
+     * @throws IOException If the stream could not be written to
+     */
+    public void encodeTaskListToBinary(TaskList tasks, DataOutputStream out) throws IOException {
+        encodeBinaryHeader(tasks.getNumTasks(), out);
+        for (Task task : tasks.getTasks()) {
+            encodeTaskToBinary(task, out);
+        }
+    }
+
+    /**
+     * Writes the header of the binary storage format, for the given number of tasks to follow.
+     *
+     * @param numTasks Number of tasks that will be encoded after the header
+     * @param out Stream to write the header to
+     * @throws IOException If the stream could not be written to
+     */
+    void encodeBinaryHeader(int numTasks, DataOutputStream out) throws IOException {
+        out.writeInt(StorageFormat.BINARY_MAGIC_NUMBER);
+        out.writeByte(StorageFormat.BINARY_VERSION);
+        writeVarInt(out, numTasks);
+    }
+
+    /**
+     * Encodes a single task into the binary storage format, after the header.
+     *
+     * @param task Task to be encoded
+     * @param out Stream to write the encoded task to
+     * @throws IOException If the stream could not be written to
+     */
+    void encodeTaskToBinary(Task task, DataOutputStream out) throws IOException {
+        final int doneFlag = task.isDone() ? StorageFormat.BINARY_DONE_FLAG : 0;
+        final byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        final int type;
+        if (task instanceof Deadline) {
+            type = StorageFormat.BINARY_TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            type = StorageFormat.BINARY_TYPE_EVENT;
+        } else {
+            type = StorageFormat.BINARY_TYPE_TODO;
+        }
+        out.writeByte(type | doneFlag);
+        writeDescription(out, description);
+        final LocalDateTime dateAndTime = task.getDateAndTime();
+        if (dateAndTime != null) {
+            out.writeLong(toEpochSecond(dateAndTime));
+        }
+    }
+
+    private void writeDescription(DataOutputStream out, byte[] description) throws IOException {
+        writeVarInt(out, description.length);
+        out.write(description);
+    }
+
+    /** Writes a non-negative int in 7-bit groups, least significant first, with the highest bit marking continuation */
+    private void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /** Date and time are stored without a time zone, so UTC is only used as a fixed reference point */
+    private long toEpochSecond(LocalDateTime dateAndTime) {
+        return dateAndTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
 }
@@ -0,0 +1,204 @@
+package duke.storage;
+
+import duke.data.task.Task;
+import duke.data.task.TaskList;
+import duke.data.task.TaskListListener;
+import duke.logic.exceptions.TaskAlreadyDoneException;
+import duke.logic.exceptions.TaskListEmptyException;
+import duke.logic.exceptions.TaskNumOutOfBoundsException;
+import duke.storage.exceptions.CannotReadFromFileException;
+import duke.storage.exceptions.InvalidStorageDataException;
+import duke.storage.exceptions.UnableToWriteToFileException;
+import duke.ui.Ui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only log of the changes made to the TaskList since the last snapshot of the storage file.
+ * Each change is recorded as one line in the form "ADD | encoded task", "DONE | task number" or
+ * "DELETE | task number", so that a change costs one small append instead of a rewrite of the whole file.
+ */
+public class TaskListJournal implements TaskListListener {
+    static final String RECORD_ADD = "ADD";
+    static final String RECORD_DONE = "DONE";
+    static final String RECORD_DELETE = "DELETE";
+    static final String RECORD_SEPARATOR = " | ";
+    /** Splits a record into its type and its argument */
+    static final String RECORD_SEPARATOR_REGEX = " \\| ";
+
+    private final Path journalPath;
+    private BufferedWriter writer;
+    private boolean hasFailedToWrite;
+
+    public TaskListJournal(Path journalPath) {
+        this.journalPath = journalPath;
+    }
+
+    /**
+     * Opens the journal file for appending, creating it if it does not exist.
+     *
+     * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file
+     */
+    public void open() throws UnableToWriteToFileException {
+        try {
+            writer = Files.newBufferedWriter(journalPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UnableToWriteToFileException();
+        }
+    }
+
+    @Override
+    public void onTaskAdded(Task task) {
+        appendRecord(RECORD_ADD + RECORD_SEPARATOR + task.toTextFileString());
+    }
+
+    @Override
+    public void onTaskDeleted(int taskNum, Task task) {
+        appendRecord(RECORD_DELETE + RECORD_SEPARATOR + taskNum);
+    }
+
+    @Override
+    public void onTaskMarkedAsDone(int taskNum, Task task) {
+        appendRecord(RECORD_DONE + RECORD_SEPARATOR + taskNum);
+    }
+
+    /**
+     * Buffers a record to be written on the next flush.
+     * Listener methods cannot throw, so a failure is remembered and reported by the next flush instead.
+     */
+    private void appendRecord(String record) {
+        try {
+            writer.write(record);
+            writer.write(Ui.LS);
+        } catch (IOException e) {
+            hasFailedToWrite = true;
+        }
+    }
+
+    /**
+     * Writes all buffered records to the journal file.
+     *
+     * @throws UnableToWriteToFileException If any record could not be written to the journal file
+     */
+    public void flush() throws UnableToWriteToFileException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            hasFailedToWrite = true;
+        }
+        if (hasFailedToWrite) {
+            hasFailedToWrite = false;
+            throw new UnableToWriteToFileException();
+        }
+    }
+
+    /** Returns the size of the journal file in bytes, excluding records that have not been flushed */
+    public long getSizeInBytes() {
+        try {
+            return Files.size(journalPath);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Moves all records written so far to the given file and starts a new, empty journal.
+     * If the given file already exists (i.e. an earlier compaction did not complete), the records are appended to it
+     * so that no record is lost.
+     *
+     * @param rotatedJournalPath File to move the current records to
+     * @throws UnableToWriteToFileException If system does not have permission to write to this directory/file
+     */
+    public void rotateTo(Path rotatedJournalPath) throws UnableToWriteToFileException {
+        flush();
+        close();
+        try {
+            if (Files.exists(rotatedJournalPath)) {
+                Files.write(rotatedJournalPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, rotatedJournalPath);
+            }
+        } catch (IOException e) {
+            throw new UnableToWriteToFileException();
+        } finally {
+            open();
+        }
+    }
+
+    /**
+     * Closes the journal file. Buffered records are written before closing.
+     *
+     * @throws UnableToWriteToFileException If the journal file could not be written to
+     */
+    public void close() throws UnableToWriteToFileException {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UnableToWriteToFileException();
+        }
+    }
+
+    /**
+     * Applies every record in the given journal file to the task list, in the order they were recorded.
+     * Records that cannot be applied are skipped and reported to the user, like invalid lines in the storage file.
+     *
+     * @param tasks TaskList loaded from the snapshot the journal was recorded against
+     * @param journalPath Journal file to replay
+     * @throws CannotReadFromFileException If system does not have permission to read from this directory/file
+     */
+    public static void replay(TaskList tasks, Path journalPath) throws CannotReadFromFileException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        final List<String> records;
+        try {
+            records = Files.readAllLines(journalPath);
+        } catch (IOException e) {
+            throw new CannotReadFromFileException();
+        }
+
+        for (String record : records) {
+            try {
+                applyRecord(tasks, record);
+            } catch (InvalidStorageDataException e) {
+                Ui.showMessageFramedWithDivider(e.toString());
+            } catch (NumberFormatException | TaskListEmptyException | TaskNumOutOfBoundsException
+                    | TaskAlreadyDoneException e) {
+                Ui.showMessageFramedWithDivider(new InvalidStorageDataException(record).toString());
+            }
+        }
+    }
+
+    private static void applyRecord(TaskList tasks, String record) throws InvalidStorageDataException,
+            TaskListEmptyException, TaskNumOutOfBoundsException, TaskAlreadyDoneException {
+        final String[] typeAndArgument = record.split(RECORD_SEPARATOR_REGEX, 2);
+        if (typeAndArgument.length < 2) {
+            throw new InvalidStorageDataException(record);
+        }
+
+        switch (typeAndArgument[0]) {
+        case RECORD_ADD:
+            final Task task = TaskListDecoder.decodeTask(typeAndArgument[1]);
+            if (task == null) {
+                throw new InvalidStorageDataException(record);
+            }
+            tasks.addTask(task);
+            break;
+        case RECORD_DONE:
+            tasks.markTaskAsDone(Integer.parseInt(typeAndArgument[1]));
+            break;
+        case RECORD_DELETE:
+            tasks.deleteTask(Integer.parseInt(typeAndArgument[1]));
+            break;
+        default:
+            throw new InvalidStorageDataException(record);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package duke.storage;
+
+import duke.data.task.TaskList;
+import duke.storage.exceptions.UnableToWriteToFileException;
+
+/**
+ * Saves the task list to storage on a background thread, so that commands do not wait for the disk.
+ * Changes made in quick succession are coalesced into a single save.
+ * Saving is done while holding the lock of the TaskList, which must also be held while the list is modified.
+ */
+public class WriteBehindPersister {
+
+    /** How soon changes to the task list are written to storage */
+    public enum Durability {
+        /** Every change is saved before the next command is read */
+        EVERY_COMMIT,
+        /** Changes are saved in the background, at most a fixed delay after they are made */
+        BATCHED,
+        /** Changes are only saved when Dude exits */
+        ON_EXIT;
+
+        /**
+         * Returns the durability level with the given name, e.g. "batched" or "on-exit".
+         *
+         * @param name Name of the durability level, case-insensitive
+         * @param defaultDurability Durability level to return if the name is not recognised
+         */
+        public static Durability fromName(String name, Durability defaultDurability) {
+            for (Durability durability : values()) {
+                if (durability.name().replace('_', '-').equalsIgnoreCase(name)) {
+                    return durability;
+                }
+            }
+            return defaultDurability;
+        }
+    }
+
+    private final Storage storage;
+    private final TaskList tasks;
+    private final Durability durability;
+    private final long maxDelayInMillis;
+
+    private boolean isDirty;
+    private boolean isStopped;
+    private UnableToWriteToFileException lastError;
+    private Thread persisterThread;
+
+    /**
+     * Constructs the persister. In BATCHED mode, this starts the background thread.
+     *
+     * @param storage Storage to save the task list to
+     * @param tasks TaskList to be saved
+     * @param durability How soon changes are to be written to storage
+     * @param maxDelayInMillis Maximum time a change may wait before being saved in BATCHED mode
+     */
+    public WriteBehindPersister(Storage storage, TaskList tasks, Durability durability, long maxDelayInMillis) {
+        this.storage = storage;
+        this.tasks = tasks;
+        this.durability = durability;
+        this.maxDelayInMillis = maxDelayInMillis;
+        if (durability == Durability.BATCHED) {
+            persisterThread = new Thread(this::saveUntilStopped, "write-behind-persister");
+            persisterThread.setDaemon(true);
+            persisterThread.start();
+        }
+    }
+
+    /**
+     * Notifies the persister that the task list has been modified.
+     *
+     * @throws UnableToWriteToFileException If this or an earlier background save could not be written
+     */
+    public void markDirty() throws UnableToWriteToFileException {
+        if (durability == Durability.EVERY_COMMIT) {
+            storage.saveTaskList(tasks);
+            return;
+        }
+
+        synchronized (this) {
+            isDirty = true;
+            notifyAll();
+        }
+        throwLastError();
+    }
+
+    /**
+     * Saves all pending changes now, e.g. every so many commands of a long script run with ON_EXIT durability.
+     *
+     * @throws UnableToWriteToFileException If this or an earlier background save could not be written
+     */
+    public void flush() throws UnableToWriteToFileException {
+        if (takeDirtyFlag()) {
+            synchronized (this) {
+                lastError = null;
+            }
+            storage.saveTaskList(tasks);
+        }
+        throwLastError();
+    }
+
+    /**
+     * Saves all pending changes and stops the background thread. To be called before the application exits.
+     *
+     * @throws UnableToWriteToFileException If the pending changes could not be written
+     */
+    public void drain() throws UnableToWriteToFileException {
+        synchronized (this) {
+            isStopped = true;
+            notifyAll();
+        }
+        if (persisterThread != null) {
+            try {
+                persisterThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Loop of the background thread. Waits for a change, then waits up to the maximum delay so that the changes
+     * that follow are saved together with it.
+     */
+    private void saveUntilStopped() {
+        while (waitUntilDirtyOrStopped()) {
+            try {
+                waitForMaxDelayUnlessStopped();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!takeDirtyFlag()) {
+                continue;
+            }
+            try {
+                storage.saveTaskList(tasks);
+            } catch (UnableToWriteToFileException e) {
+                synchronized (this) {
+                    lastError = e;
+                    isDirty = true;
+                }
+            }
+        }
+    }
+
+    private synchronized void waitForMaxDelayUnlessStopped() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + maxDelayInMillis;
+        long remainingMillis = maxDelayInMillis;
+        while (!isStopped && remainingMillis > 0) {
+            wait(remainingMillis);
+            remainingMillis = deadline - System.currentTimeMillis();
+        }
+    }
+
+    /** Returns false if the persister has been stopped, otherwise waits until there are changes and returns true. */
+    private synchronized boolean waitUntilDirtyOrStopped() {
+        while (!isDirty && !isStopped) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return !isStopped;
+    }
+
+    private synchronized boolean takeDirtyFlag() {
+        final boolean wasDirty = isDirty;
+        isDirty = false;
+        return wasDirty;
+    }
+
+    private synchronized void throwLastError() throws UnableToWriteToFileException {
+        if (lastError != null) {
+            final UnableToWriteToFileException error = lastError;
+            lastError = null;
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package duke.ui;
+
+import duke.logic.commands.CommandResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Output sink that writes the usual text form of the output to the console through one large buffer, so that the
+ * console is written to once per flush rather than once per line.
+ * Errors writing to the console are not reported, like those of System.out itself.
+ */
+public class ConsoleOutputSink implements OutputSink {
+    private static final int OUTPUT_BUFFER_SIZE_IN_BYTES = 64 * 1024;
+
+    private final Writer out = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE_IN_BYTES);
+    private final boolean isShowingResults;
+
+    /**
+     * Constructs the sink.
+     *
+     * @param isShowingResults False if the results of commands are not to be shown, e.g. for a long script
+     */
+    public ConsoleOutputSink(boolean isShowingResults) {
+        this.isShowingResults = isShowingResults;
+    }
+
+    private void writeLine(String line) throws IOException {
+        out.write(line);
+        out.write(Ui.LS);
+    }
+
+    @Override
+    public synchronized void showMessage(String... lines) {
+        try {
+            for (String line : lines) {
+                writeLine(line);
+            }
+        } catch (IOException e) {
+            //Not reported, see class comment
+        }
+    }
+
+    @Override
+    public synchronized void showMessageFramedWithDivider(String... lines) {
+        try {
+            writeLine(Ui.DIVIDER);
+            for (String line : lines) {
+                writeLine(line);
+            }
+            writeLine(Ui.DIVIDER);
+        } catch (IOException e) {
+            //Not reported, see class comment
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The result is written piece by piece, so that a long result is not first built into one String.
+     */
+    @Override
+    public synchronized void showResultFramedWithDivider(CommandResult result) {
+        if (!isShowingResults) {
+            return;
+        }
+        try {
+            writeLine(Ui.DIVIDER);
+            result.writeTo(out);
+            writeLine(Ui.DIVIDER);
+        } catch (IOException e) {
+            //Not reported, see class comment
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            //Not reported, see class comment
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package duke.ui;
+
+import duke.logic.commands.CommandResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Output sink for other programs to read, which writes each message and each result of a command as one JSON object
+ * on its own line, e.g. {"type":"result","text":"Okie! Added to list:\n..."}. Dividers are left out.
+ * Like the console sink, output is written through one large buffer.
+ */
+public class JsonOutputSink implements OutputSink {
+    private static final int OUTPUT_BUFFER_SIZE_IN_BYTES = 64 * 1024;
+    private static final String TYPE_MESSAGE = "message";
+    private static final String TYPE_RESULT = "result";
+    private static final String TEXT_LINE_SEPARATOR = "\n";
+
+    private final Writer out = new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE_IN_BYTES);
+    private final boolean isShowingResults;
+
+    /**
+     * Constructs the sink.
+     *
+     * @param isShowingResults False if the results of commands are not to be shown, e.g. for a long script
+     */
+    public JsonOutputSink(boolean isShowingResults) {
+        this.isShowingResults = isShowingResults;
+    }
+
+    @Override
+    public synchronized void showMessage(String... lines) {
+        final StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            if (line.equals(Ui.DIVIDER)) {
+                continue;
+            }
+            if (text.length() > 0) {
+                text.append(TEXT_LINE_SEPARATOR);
+            }
+            text.append(line);
+        }
+        writeObject(TYPE_MESSAGE, text.toString());
+    }
+
+    @Override
+    public void showMessageFramedWithDivider(String... lines) {
+        showMessage(lines);
+    }
+
+    @Override
+    public synchronized void showResultFramedWithDivider(CommandResult result) {
+        if (isShowingResults) {
+            writeObject(TYPE_RESULT, result.toString());
+        }
+    }
+
+    /** Writes one JSON object with the given type and text, on its own line */
+    private void writeObject(String type, String text) {
+        try {
+            out.write("{\"type\":\"");
+            out.write(type);
+            out.write("\",\"text\":\"");
+            writeEscaped(text.replace(Ui.LS, TEXT_LINE_SEPARATOR));
+            out.write("\"}");
+            out.write(Ui.LS);
+        } catch (IOException e) {
+            //Errors writing to the console are not reported, like those of System.out itself
+        }
+    }
+
+    /** Writes the text as the contents of a JSON string, escaping the characters that JSON does not allow in one */
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+            case '"':
+                out.write("\\\"");
+                break;
+            case '\\':
+                out.write("\\\\");
+                break;
+            case '\n':
+                out.write("\\n");
+                break;
+            case '\r':
+                out.write("\\r");
+                break;
+            case '\t':
+                out.write("\\t");
+                break;
+            default:
+                if (c < ' ') {
+                    out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            //Errors writing to the console are not reported, like those of System.out itself
+        }
+    }
+}
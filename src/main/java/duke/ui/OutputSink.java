@@ -0,0 +1,36 @@
+package duke.ui;
+
+import duke.logic.commands.CommandResult;
+
+/**
+ * Represents where the output of Dude is written to, e.g. the console in the usual text form.
+ * Output may be buffered until it is flushed, which the Ui does before waiting for the user to type a command,
+ * instead of the console being flushed after every line.
+ * Output may come from background threads (i.e. reminders), so implementations must be thread-safe.
+ */
+public interface OutputSink {
+
+    /**
+     * Shows lines of messages, each on a new line.
+     *
+     * @param lines Strings to be shown
+     */
+    void showMessage(String... lines);
+
+    /**
+     * Shows lines of messages framed by divider.
+     *
+     * @param lines Strings to be shown
+     */
+    void showMessageFramedWithDivider(String... lines);
+
+    /**
+     * Shows the result of a command framed by divider.
+     *
+     * @param result Result of the execution of a command
+     */
+    void showResultFramedWithDivider(CommandResult result);
+
+    /** Writes out all output buffered so far */
+    void flush();
+}
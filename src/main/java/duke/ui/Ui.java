@@ -6,11 +6,18 @@ import duke.logic.commands.AddEventCommand;
 import duke.logic.commands.AddTodoCommand;
 import duke.logic.commands.ByeCommand;
 import duke.logic.commands.CommandListCommand;
+import duke.logic.commands.CommandResult;
 import duke.logic.commands.DeleteTaskCommand;
+import duke.logic.commands.DueTaskCommand;
+import duke.logic.commands.FuzzySearchTaskCommand;
 import duke.logic.commands.ListCommand;
 import duke.logic.commands.MarkTaskAsDoneCommand;
+import duke.logic.commands.OnDateTaskCommand;
 import duke.logic.commands.SearchTaskCommand;
+import duke.logic.commands.StatsCommand;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.util.Scanner;
 
 /**
@@ -24,39 +31,101 @@ public class Ui {
     public static final String QUOTATION = "\"";
     public static final String EMPTY = "";
     public static final String DATE_TIME_FORMAT = "dd/MM/yyyy HHmm";
+    public static final String DATE_FORMAT = "dd/MM/yyyy";
     public static final String DATE_TIME_FORMAT_TO_PRINT = "MMM d yyyy h.mma";
     public static final String MESSAGE_WELCOME_DUDE = "Hello! I'm Dude ^__^";
     public static final String MESSAGE_BYE = "Bye! Hope to see you again soon! ~^u^~ ";
     public static final String MESSAGE_NO_TASKS_YET = "No tasks yet, add a task now! >u<";
-    public static final String MESSAGE_INTRODUCE_TASKS = "These are your current tasks:" + LS + "%s";
+    public static final String MESSAGE_INTRODUCE_TASKS_HEADER = "These are your current tasks:";
+    public static final String MESSAGE_INTRODUCE_TASKS = MESSAGE_INTRODUCE_TASKS_HEADER + LS + "%s";
     public static final String MESSAGE_TASK_ADDED =  "Okie! Added to list:" + LS + "%1$s" + LS + "Current number of tasks: %2$d";
     public static final String MESSAGE_COMMAND_LIST = "Commands:" + LS
             + AddTodoCommand.MESSAGE_COMMAND_DESCRIPTION + LS
             + AddDeadlineCommand.MESSAGE_COMMAND_DESCRIPTION + LS
             + AddEventCommand.MESSAGE_COMMAND_DESCRIPTION + LS
             + ListCommand.MESSAGE_COMMAND_DESCRIPTION + " : See lists of tasks" + LS
+            + ListCommand.MESSAGE_RANGE_DESCRIPTION + LS
             + MarkTaskAsDoneCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + MarkTaskAsDoneCommand.MESSAGE_RANGES_DESCRIPTION + LS
             + DeleteTaskCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + DeleteTaskCommand.MESSAGE_RANGES_DESCRIPTION + LS
             + SearchTaskCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + FuzzySearchTaskCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + DueTaskCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + OnDateTaskCommand.MESSAGE_COMMAND_DESCRIPTION + LS
+            + StatsCommand.MESSAGE_COMMAND_DESCRIPTION + LS
             + CommandListCommand.MESSAGE_COMMAND_DESCRIPTION + LS
             + ByeCommand.MESSAGE_COMMAND_DESCRIPTION;
     public static final String MESSAGE_ERROR_COMMAND_DOES_NOT_EXIST = "Command does not exist @_@" + LS + "Lost? Type "
             + CommandListCommand.MESSAGE_COMMAND_FORMAT + " to see the list of commands that Dude understands!";
     public static final String MESSAGE_ERROR_DATE_FORMAT_WRONG = "Please input the date and time in the format " +
             QUOTATION + DATE_TIME_FORMAT + QUOTATION + "!" + LS + "E.g: 12/12/2012 2359";
+    public static final String MESSAGE_CHANGES_NOT_SAVED = "As your old data could not be loaded, changes made now "
+            + "will not be saved >_<";
+    public static final String MESSAGE_DATA_MIGRATED = "Your data file has been converted to the %s format!";
     private static final String MESSAGE_DATA_LOADED = "Your old data has been successfully loaded!" + LS
             + "You have %d tasks. Type " + ListCommand.MESSAGE_COMMAND_FORMAT + " to see current tasks!";
+    public static final String MESSAGE_ERROR_SCRIPT_NOT_READABLE = "Unable to read the script file %s @_@";
+    public static final String MESSAGE_ERROR_UNKNOWN_OPTIONS = "Dude does not understand these options @_@" + LS
+            + "%1$s" + LS + "Options that Dude understands: %2$s";
 
 
+    /** Where all output is written to, which is the console in the usual text form unless set otherwise */
+    private static OutputSink outputSink = new ConsoleOutputSink(true);
+
     private Scanner scanner;
+    /** Reader of a script of commands, or null if the commands are typed in by the user */
+    private BufferedReader scriptReader;
 
 
     public Ui() {
         this.scanner = new Scanner(System.in);
     }
 
+    /**
+     * Constructs Ui that reads commands from a script, e.g. a file of commands, instead of from the user.
+     * Lines are read through the buffer of the reader, which is much faster than a Scanner for long scripts.
+     *
+     * @param scriptReader Reader of the script
+     */
+    public Ui(BufferedReader scriptReader) {
+        this.scriptReader = scriptReader;
+    }
+
+    /**
+     * Sets where all output is written to from now on. Output buffered by the previous sink is flushed first.
+     *
+     * @param outputSink Sink for the output
+     */
+    public static void setOutputSink(OutputSink outputSink) {
+        Ui.outputSink.flush();
+        Ui.outputSink = outputSink;
+    }
+
+    /**
+     * Writes out all output buffered so far. Output is otherwise only written out when the user is about to be asked
+     * for the next command, or when the buffer is full.
+     */
+    public static void flush() {
+        outputSink.flush();
+    }
+
+    /**
+     * Returns the next line of input, or null once there is no more input, i.e. at the end of a script.
+     * An error reading the script is treated as its end.
+     * Before the user is asked to type a command, the output so far is flushed, so that the output of each command
+     * is written to the console at once.
+     */
     public String getUserInput() {
-        return scanner.nextLine();
+        if (scriptReader != null) {
+            try {
+                return scriptReader.readLine();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        flush();
+        return scanner.hasNextLine() ? scanner.nextLine() : null;
     }
 
     /**
@@ -65,9 +134,7 @@ public class Ui {
      * @param lines Strings to be printed, each on a new line
      */
     public static void showMessage(String... lines) {
-        for (String line : lines) {
-            System.out.println(line);
-        }
+        outputSink.showMessage(lines);
     }
 
     /**
@@ -76,11 +143,16 @@ public class Ui {
      * @param lines Strings to be printed, each on a new line
      */
     public static void showMessageFramedWithDivider(String... lines) {
-        System.out.println(DIVIDER);
-        for (String line : lines) {
-            System.out.println(line);
-        }
-        System.out.println(DIVIDER);
+        outputSink.showMessageFramedWithDivider(lines);
+    }
+
+    /**
+     * Prints the result of a command framed by divider.
+     *
+     * @param result Result of the execution of a command
+     */
+    public static void showResultFramedWithDivider(CommandResult result) {
+        outputSink.showResultFramedWithDivider(result);
     }
 
     /**